@@ -2,57 +2,95 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.BatchForwarder;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.config.BatchProperties;
 
+import javax.validation.groups.Default;
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final BatchForwarder batchForwarder;
+    private final BatchProperties batchProperties;
+
     @Autowired
-    public BookingClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit.server.url}") String serverUrl, WebClient.Builder builder,
+                         ClientHttpConnector serverConnector, ResponseCache responseCache,
+                         RequestCoalescer requestCoalescer, BatchForwarder batchForwarder,
+                         BatchProperties batchProperties) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverConnector)
+                        .build(),
+                responseCache,
+                requestCoalescer,
+                API_PREFIX,
+                Set.of("/items")
         );
+        this.batchForwarder = batchForwarder;
+        this.batchProperties = batchProperties;
     }
 
-    public ResponseEntity<Object> createBooking(long userId, BookingRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createBooking(long userId, BookingRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> confirmBooking(long userId, long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Object>> createBookings(long userId, InputStream bookings) {
+        return batchForwarder.forward(bookings, BookingRequestDto.class, Default.class,
+                batchProperties.getBookingsMaxSize(),
+                accepted -> postStream("/batch", userId, accepted, BookingRequestDto.class));
+    }
+
+    public Mono<ResponseEntity<Object>> confirmBookings(long userId, InputStream approvals) {
+        return batchForwarder.forward(approvals, BookingApprovalDto.class, Default.class,
+                batchProperties.getBookingsMaxSize(),
+                accepted -> patchStream("/batch", userId, accepted, BookingApprovalDto.class));
+    }
+
+    public Mono<ResponseEntity<Object>> confirmBooking(long userId, long bookingId, boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId, null);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllUserBookings(long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllUserBookings(long userId, String state, Integer from, Integer size,
+                                                           String cursor) {
+        return get(withCursor("?state={state}&from={from}&size={size}", cursor), userId,
+                pageParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> getAllOwnerBookings(long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllOwnerBookings(long userId, String state, Integer from, Integer size,
+                                                            String cursor) {
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", cursor), userId,
+                pageParameters(state, from, size, cursor));
+    }
+
+    private static Map<String, Object> pageParameters(String state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
-}
\ No newline at end of file
+}
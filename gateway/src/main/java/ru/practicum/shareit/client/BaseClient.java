@@ -1,105 +1,188 @@
 package ru.practicum.shareit.client;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
 
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import static ru.practicum.shareit.constants.headers.Headers.USER_ID;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "upgrade", "te", "trailer",
+            "proxy-authenticate", "proxy-authorization"
+    );
+    private static final List<String> CONDITIONAL_HEADERS = List.of(HttpHeaders.IF_NONE_MATCH,
+            HttpHeaders.IF_MODIFIED_SINCE);
+
+    protected final WebClient webClient;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final String region;
+    private final Set<String> invalidatedRegions;
+
+    public BaseClient(WebClient webClient, ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                      String region, Set<String> invalidatedRegions) {
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.region = region;
+        this.invalidatedRegions = invalidatedRegions;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path) {
-        return get(path, null, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        HttpHeaders conditions = incomingConditions();
+        return requestCoalescer.get(new RequestKey(region, path, parameters, userId, conditions),
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null,
+                        MediaType.APPLICATION_JSON, conditions));
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
-        return get(path, userId, null);
+    protected Mono<ResponseEntity<Object>> getCached(String path) {
+        return getCached(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(String path, long userId) {
+        return getCached(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> getCached(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        RequestKey key = new RequestKey(region, path, parameters, userId, HttpHeaders.EMPTY);
+        return responseCache.get(key, () -> requestCoalescer.get(key,
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null)));
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> postStream(String path, long userId, Flux<T> body,
+                                                          Class<T> elementClass) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null,
+                BodyInserters.fromPublisher(body, elementClass), MediaType.APPLICATION_NDJSON, HttpHeaders.EMPTY);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patchStream(String path, long userId, Flux<T> body,
+                                                           Class<T> elementClass) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, null,
+                BodyInserters.fromPublisher(body, elementClass), MediaType.APPLICATION_NDJSON, HttpHeaders.EMPTY);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    protected static String withCursor(String path, @Nullable String cursor) {
+        return cursor == null ? path : path + "&cursor={cursor}";
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return makeAndSendRequest(method, path, userId, parameters,
+                body != null ? BodyInserters.fromValue(body) : null, MediaType.APPLICATION_JSON, HttpHeaders.EMPTY);
+    }
+
+    private Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                            @Nullable Map<String, Object> parameters,
+                                                            @Nullable BodyInserter<?, ? super ClientHttpRequest> body,
+                                                            MediaType contentType, HttpHeaders conditions) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId, contentType));
+                    headers.addAll(conditions);
+                });
+        WebClient.RequestHeadersSpec<?> shareitServerRequest = body != null ? request.body(body) : request;
+
+        Mono<ResponseEntity<Object>> gatewayResponse = shareitServerRequest.exchangeToMono(response -> response
+                .bodyToMono(byte[].class)
+                .map(responseBody -> prepareGatewayResponse(response.rawStatusCode(),
+                        response.headers().asHttpHeaders(), responseBody))
+                .switchIfEmpty(Mono.fromSupplier(() -> prepareGatewayResponse(response.rawStatusCode(),
+                        response.headers().asHttpHeaders(), null))));
+
+        if (method == HttpMethod.GET) {
+            return gatewayResponse;
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return gatewayResponse
+                .doOnNext(response -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        invalidate();
+                    }
+                })
+                .doOnError(e -> invalidate());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private void invalidate() {
+        requestCoalescer.invalidate(invalidatedRegions);
+        responseCache.invalidate(invalidatedRegions);
+    }
+
+    private HttpHeaders defaultHeaders(Long userId, MediaType contentType) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentType(contentType);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set(USER_ID, String.valueOf(userId));
@@ -107,17 +190,40 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    /**
+     * Conditional headers of the incoming request, read while the controller still runs on the servlet thread.
+     * Only uncached reads forward them: a cached 200 is answered with 304 by Spring MVC itself.
+     */
+    private static HttpHeaders incomingConditions() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return HttpHeaders.EMPTY;
         }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        HttpHeaders conditions = new HttpHeaders();
+        CONDITIONAL_HEADERS.forEach(name -> {
+            String value = request.getHeader(name);
+            if (value != null) {
+                conditions.set(name, value);
+            }
+        });
+        return conditions;
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(int status, HttpHeaders serverHeaders,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                responseBuilder.header(name, values.toArray(String[]::new));
+            }
+        });
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.config.BatchProperties;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchForwarder {
+    private static final TypeReference<List<BatchResult>> RESULTS = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public <T> Mono<ResponseEntity<Object>> forward(InputStream body, Class<T> type, Class<?> group, int maxSize,
+                                                    Function<Flux<T>, Mono<ResponseEntity<Object>>> sender) {
+        AtomicLong received = new AtomicLong();
+        Map<Long, String> rejected = new ConcurrentHashMap<>();
+        AtomicReference<String> invalid = new AtomicReference<>();
+        Flux<T> accepted = Flux.using(() -> objectMapper.readerFor(JsonNode.class).<JsonNode>readValues(body),
+                        records -> Flux.fromIterable(() -> records),
+                        BatchForwarder::close)
+                .<T>handle((record, sink) -> {
+                    long index = received.getAndIncrement();
+                    if (index == maxSize) {
+                        sink.error(new IllegalArgumentException("Пакет не может содержать больше " + maxSize
+                                + " записей"));
+                        return;
+                    }
+                    T value = read(index, record, type, rejected);
+                    if (value != null && accept(index, value, group, rejected)) {
+                        sink.next(value);
+                    }
+                })
+                .onErrorMap(e -> !(e instanceof IllegalArgumentException),
+                        e -> new IllegalArgumentException("Пакет не может быть прочитан: " + e.getMessage(), e))
+                .doOnError(e -> invalid.set(e.getMessage()))
+                .subscribeOn(Schedulers.boundedElastic());
+        return sender.apply(accepted)
+                .map(response -> invalid.get() == null ? merge(response, received.get(), rejected)
+                        : badRequest(invalid.get()))
+                .onErrorResume(e -> invalid.get() != null, e -> Mono.just(badRequest(invalid.get())));
+    }
+
+    private <T> T read(long index, JsonNode record, Class<T> type, Map<Long, String> rejected) {
+        try {
+            T value = objectMapper.treeToValue(record, type);
+            if (value == null) {
+                rejected.put(index, "Запись не может быть прочитана: пустая запись");
+            }
+            return value;
+        } catch (JsonProcessingException e) {
+            rejected.put(index, "Запись не может быть прочитана: " + e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private <T> boolean accept(long index, T record, Class<?> group, Map<Long, String> rejected) {
+        Set<ConstraintViolation<T>> violations = validator.validate(record, group);
+        if (violations.isEmpty()) {
+            return true;
+        }
+        rejected.put(index, violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        return false;
+    }
+
+    private ResponseEntity<Object> merge(ResponseEntity<Object> response, long received,
+                                         Map<Long, String> rejected) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        List<BatchResult> processed = readResults((byte[]) response.getBody());
+        long expected = received - rejected.size();
+        if (processed.size() != expected) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", "Сервер вернул " + processed.size() + " результатов вместо "
+                            + expected));
+        }
+        Iterator<BatchResult> processedIterator = processed.iterator();
+        List<BatchResult> results = new ArrayList<>((int) received);
+        for (long index = 0; index < received; index++) {
+            String error = rejected.get(index);
+            BatchResult result = error == null ? processedIterator.next() : new BatchResult(index, null, error);
+            result.setIndex(index);
+            results.add(result);
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(results);
+    }
+
+    private List<BatchResult> readResults(byte[] body) {
+        if (body == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(body, RESULTS);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ResponseEntity<Object> badRequest(String error) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", error));
+    }
+
+    private static void close(MappingIterator<?> records) {
+        try {
+            records.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
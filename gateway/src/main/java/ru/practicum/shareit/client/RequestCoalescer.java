@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+
+    private static final String COALESCED_REQUESTS_COUNTER = "gateway.requests.coalesced";
+
+    private final Map<RequestKey, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedRequests;
+
+    public RequestCoalescer(MeterRegistry registry) {
+        this.coalescedRequests = Counter.builder(COALESCED_REQUESTS_COUNTER)
+                .description("Запросы, получившие ответ уже выполняющегося идентичного запроса к серверу")
+                .register(registry);
+    }
+
+    Mono<ResponseEntity<Object>> get(RequestKey key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        return Mono.defer(() -> {
+            Mono<ResponseEntity<Object>> existing = inFlight.get(key);
+            if (existing == null) {
+                Mono<ResponseEntity<Object>> flight = loader.get().cache();
+                existing = inFlight.putIfAbsent(key, flight);
+                if (existing == null) {
+                    return flight.doFinally(signal -> inFlight.remove(key, flight));
+                }
+            }
+            coalescedRequests.increment();
+            return existing;
+        });
+    }
+
+    void invalidate(Set<String> regions) {
+        inFlight.keySet().removeIf(key -> regions.contains(key.getRegion()));
+    }
+}
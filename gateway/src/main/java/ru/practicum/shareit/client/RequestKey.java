@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Getter
+@EqualsAndHashCode
+class RequestKey {
+    private final String region;
+    private final String path;
+    private final Map<String, Object> parameters;
+    private final Long userId;
+    private final HttpHeaders conditions;
+
+    RequestKey(String region, String path, @Nullable Map<String, Object> parameters, @Nullable Long userId,
+               HttpHeaders conditions) {
+        this.region = region;
+        this.path = path;
+        this.parameters = parameters == null ? Map.of() : new TreeMap<>(parameters);
+        this.userId = userId;
+        this.conditions = conditions;
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.config.ResponseCacheProperties;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+
+    private static final String CACHE_NAME = "gateway.responses";
+
+    private final boolean enabled;
+    private final Cache<RequestKey, CachedResponse> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    Mono<ResponseEntity<Object>> get(RequestKey key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        return Mono.defer(() -> {
+            AtomicLong generation = generation(key.getRegion());
+            long currentGeneration = generation.get();
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                if (cached.getGeneration() == currentGeneration) {
+                    return Mono.just(cached.getResponse());
+                }
+                cache.invalidate(key);
+            }
+
+            return loader.get().doOnNext(response -> {
+                if (response.getStatusCode().is2xxSuccessful() && generation.get() == currentGeneration) {
+                    cache.put(key, new CachedResponse(currentGeneration, response));
+                }
+            });
+        });
+    }
+
+    void invalidate(Set<String> regions) {
+        if (!enabled) {
+            return;
+        }
+
+        regions.forEach(region -> generation(region).incrementAndGet());
+    }
+
+    private AtomicLong generation(String region) {
+        return generations.computeIfAbsent(region, r -> new AtomicLong());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedResponse {
+        private final long generation;
+        private final ResponseEntity<Object> response;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.batch")
+public class BatchProperties {
+
+    private int itemsMaxSize = 5000;
+    private int bookingsMaxSize = 100;
+    private DataSize maxResponseSize = DataSize.ofMegabytes(8);
+}
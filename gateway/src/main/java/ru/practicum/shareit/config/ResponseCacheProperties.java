@@ -0,0 +1,17 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(30);
+    private long maxSize = 10_000;
+}
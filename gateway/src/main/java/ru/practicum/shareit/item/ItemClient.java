@@ -2,65 +2,101 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.BatchForwarder;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.config.BatchProperties;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final BatchForwarder batchForwarder;
+    private final BatchProperties batchProperties;
+
     @Autowired
-    public ItemClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit.server.url}") String serverUrl, WebClient.Builder builder,
+                      ClientHttpConnector serverConnector, ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer, BatchForwarder batchForwarder,
+                      BatchProperties batchProperties) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverConnector)
+                        .codecs(codecs -> codecs.defaultCodecs()
+                                .maxInMemorySize((int) batchProperties.getMaxResponseSize().toBytes()))
+                        .build(),
+                responseCache,
+                requestCoalescer,
+                API_PREFIX,
+                Set.of(API_PREFIX, "/requests")
         );
+        this.batchForwarder = batchForwarder;
+        this.batchProperties = batchProperties;
     }
 
-    public ResponseEntity<Object> addItem(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> addItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> addItems(long userId, InputStream items) {
+        return batchForwarder.forward(items, ItemDto.class, ItemDto.Create.class, batchProperties.getItemsMaxSize(),
+                accepted -> postStream("/batch", userId, accepted, ItemDto.class));
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(long userId, long itemId) {
+        return getCached("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllOwnersItem(long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllOwnersItem(long userId, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return get(withCursor("?from={from}&size={size}", cursor), userId, parameters);
     }
 
-    public ResponseEntity<Object> deleteItem(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(long userId, long itemId) {
         return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> searchItems(String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> searchItems(String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return getCached("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> suggestItemNames(String prefix, int size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return getCached("/suggest?prefix={prefix}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> addComment(CommentRequestDto comment, long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> addComment(CommentRequestDto comment, long userId, long itemId) {
         return post("/" + itemId + "/comment", userId, comment);
     }
 }
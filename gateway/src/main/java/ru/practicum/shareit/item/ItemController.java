@@ -3,10 +3,12 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -14,6 +16,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 
+import java.io.InputStream;
 import java.util.Collections;
 
 import static ru.practicum.shareit.constants.headers.Headers.USER_ID;
@@ -28,57 +31,74 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader(USER_ID) long userId,
-                                          @Validated(ItemDto.Create.class) @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> addItem(@RequestHeader(USER_ID) long userId,
+                                                @Validated(ItemDto.Create.class) @RequestBody ItemDto itemDto) {
         log.debug("Получен запрос POST /items");
         return itemClient.addItem(userId, itemDto);
     }
 
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Object>> addItems(@RequestHeader(USER_ID) long userId, InputStream items) {
+        log.debug("Получен запрос POST /items/batch");
+        return itemClient.addItems(userId, items);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(USER_ID) long userId,
-                                             @PathVariable long itemId,
-                                             @Validated(ItemDto.Update.class) @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(USER_ID) long userId,
+                                                   @PathVariable long itemId,
+                                                   @Validated(ItemDto.Update.class) @RequestBody ItemDto itemDto) {
         log.debug("Получен запрос PUT /items");
         return itemClient.updateItem(userId, itemId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader(USER_ID) long userId, @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader(USER_ID) long userId, @PathVariable long itemId) {
         log.debug("Получен запрос GET /items/{itemId}");
         return itemClient.getItem(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllOwnersItem(@RequestHeader(USER_ID) long userId,
-                                                   @RequestParam(defaultValue = "0") @Min(0) @Max(50)
-                                                   int from,
-                                                   @RequestParam(defaultValue = "20") @Min(1) @Max(50)
-                                                   int size) {
+    public Mono<ResponseEntity<Object>> getAllOwnersItem(@RequestHeader(USER_ID) long userId,
+                                                         @RequestParam(defaultValue = "0") @Min(0) @Max(50)
+                                                         int from,
+                                                         @RequestParam(defaultValue = "20") @Min(1) @Max(50)
+                                                         int size,
+                                                         @RequestParam(required = false) String cursor) {
         log.debug("Получен запрос GET /items");
-        return itemClient.getAllOwnersItem(userId, from, size);
+        return itemClient.getAllOwnersItem(userId, from, size, cursor);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@RequestHeader(USER_ID) long userId, @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(@RequestHeader(USER_ID) long userId, @PathVariable long itemId) {
         log.debug("Получен запрос DELETE /items/{itemId}");
         return itemClient.deleteItem(userId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text,
-                                              @RequestParam(defaultValue = "0") @Min(0) @Max(50) int from,
-                                              @RequestParam(defaultValue = "20") @Min(1) @Max(50) int size) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
+                                                    @RequestParam(defaultValue = "0") @Min(0) @Max(50) int from,
+                                                    @RequestParam(defaultValue = "20") @Min(1) @Max(50) int size) {
         log.debug("Получен запрос GET /items/search");
         if (text.isBlank()) {
-            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
+            return Mono.just(new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK));
         }
         return itemClient.searchItems(text, from, size);
     }
 
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<Object>> suggestItemNames(@RequestParam String prefix,
+                                                         @RequestParam(defaultValue = "10") @Min(1) @Max(20) int size) {
+        log.debug("Получен запрос GET /items/suggest");
+        if (prefix.isBlank()) {
+            return Mono.just(new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK));
+        }
+        return itemClient.suggestItemNames(prefix, size);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestBody @Valid CommentRequestDto comment,
-                                             @RequestHeader(USER_ID) long userId,
-                                             @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> addComment(@RequestBody @Valid CommentRequestDto comment,
+                                                   @RequestHeader(USER_ID) long userId,
+                                                   @PathVariable long itemId) {
         log.debug("Получен запрос POST /items/{itemId}/comment");
         return itemClient.addComment(comment, userId, itemId);
     }
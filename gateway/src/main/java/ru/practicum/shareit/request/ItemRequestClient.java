@@ -2,15 +2,19 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ItemRequestClient extends BaseClient {
@@ -18,32 +22,40 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit.server.url}") String serverUrl, WebClient.Builder builder,
+                             ClientHttpConnector serverConnector, ResponseCache responseCache,
+                             RequestCoalescer requestCoalescer) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverConnector)
+                        .build(),
+                responseCache,
+                requestCoalescer,
+                API_PREFIX,
+                Set.of(API_PREFIX)
         );
     }
 
-    public ResponseEntity<Object> addRequest(long userId, RequestItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> addRequest(long userId, RequestItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getMyRequests(long userId) {
+    public Mono<ResponseEntity<Object>> getMyRequests(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllUsersRequests(long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("/all", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllUsersRequests(long userId, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return get(withCursor("/all?from={from}&size={size}", cursor), userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequest(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getRequest(long userId, long requestId) {
+        return getCached("/" + requestId, userId);
     }
 }
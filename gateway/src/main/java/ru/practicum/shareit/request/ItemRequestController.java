@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 
 import javax.validation.Valid;
@@ -24,29 +25,30 @@ public class ItemRequestController {
     private final ItemRequestClient client;
 
     @PostMapping
-    public ResponseEntity<Object> addRequest(@RequestHeader(USER_ID) long userId,
-                                             @RequestBody @Valid RequestItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> addRequest(@RequestHeader(USER_ID) long userId,
+                                                   @RequestBody @Valid RequestItemRequestDto requestDto) {
         log.debug("Получен запрос POST /requests");
         return client.addRequest(userId, requestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getMyRequests(@RequestHeader(USER_ID) long userId) {
+    public Mono<ResponseEntity<Object>> getMyRequests(@RequestHeader(USER_ID) long userId) {
         log.debug("Получен запрос GET /requests");
         return client.getMyRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllUsersRequests(@RequestHeader(USER_ID) long userId,
-                                                      @RequestParam(defaultValue = "0") @Min(0) @Max(50) int from,
-                                                      @RequestParam(defaultValue = "20") @Min(1) @Max(50) int size) {
+    public Mono<ResponseEntity<Object>> getAllUsersRequests(@RequestHeader(USER_ID) long userId,
+                                                            @RequestParam(defaultValue = "0") @Min(0) @Max(50) int from,
+                                                            @RequestParam(defaultValue = "20") @Min(1) @Max(50) int size,
+                                                            @RequestParam(required = false) String cursor) {
         log.debug("Получен запрос GET /requests/all");
-        return client.getAllUsersRequests(userId, from, size);
+        return client.getAllUsersRequests(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader(USER_ID) long userId,
-                                             @PathVariable long requestId) {
+    public Mono<ResponseEntity<Object>> getRequest(@RequestHeader(USER_ID) long userId,
+                                                   @PathVariable long requestId) {
         log.debug("Получен запрос GET /requests/{requestId}");
         return client.getRequest(userId, requestId);
     }
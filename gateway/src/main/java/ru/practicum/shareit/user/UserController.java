@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Controller
@@ -18,32 +19,32 @@ public class UserController {
     private final UserClient client;
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@Validated(UserDto.Create.class) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> addUser(@Validated(UserDto.Create.class) @RequestBody UserDto userDto) {
         log.debug("Получен запрос POST /users");
         return client.addUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable long userId,
-                                             @Validated(UserDto.Update.class) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable long userId,
+                                                   @Validated(UserDto.Update.class) @RequestBody UserDto userDto) {
         log.debug("Получен запрос PUT /users/{userId}");
         return client.updateUser(userId, userDto);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable Long userId) {
         log.debug("Получен запрос GET /users/{userId}");
         return client.getUser(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.debug("Получен запрос GET /users");
         return client.getAllUsers();
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long userId) {
         log.debug("Получен запрос DELETE /users");
         return client.deleteUser(userId);
     }
@@ -7,20 +7,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.constants.headers.Headers.USER_ID;
 
 @WebMvcTest(controllers = BookingController.class)
 class BookingControllerTest {
 
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+
     @Autowired
     ObjectMapper objectMapper;
     @MockBean
@@ -63,4 +73,26 @@ class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void getAllOwnerBookingsPassesServerResponseThrough() throws Exception {
+        String body = "[{\"id\":1,\"status\":\"WAITING\"}]";
+        when(client.getAllOwnerBookings(1L, "ALL", 0, 20, null))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(NEXT_CURSOR, "cursor")
+                        .body(body.getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/bookings/owner")
+                        .header(USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(NEXT_CURSOR, "cursor"))
+                .andExpect(content().string(body));
+    }
 }
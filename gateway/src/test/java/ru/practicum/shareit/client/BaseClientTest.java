@@ -0,0 +1,152 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.config.ResponseCacheProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static ru.practicum.shareit.constants.headers.Headers.USER_ID;
+
+class BaseClientTest {
+
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+
+    @AfterEach
+    void resetRequestAttributes() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getPassesServerBodyAndHeadersThroughUnchanged() {
+        String body = "[{\"id\":1,\"name\":\"Дрель\",\"start\":\"2050-08-29T00:00:15\"}]";
+        BaseClient client = client(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(NEXT_CURSOR, "cursor")
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .body(body)
+                .build());
+
+        ResponseEntity<Object> response = client.get("/bookings/owner", 1L).block();
+
+        assertThat(lastRequest.get().url().getPath(), equalTo("/bookings/owner"));
+        assertThat(lastRequest.get().headers().getFirst(USER_ID), equalTo("1"));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), equalTo(body.getBytes(StandardCharsets.UTF_8)));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().getFirst(NEXT_CURSOR), equalTo("cursor"));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.TRANSFER_ENCODING), nullValue());
+    }
+
+    @Test
+    void errorResponsePassesServerStatusAndBodyThrough() {
+        String body = "{\"error\":\"Пользователь не найден\"}";
+        BaseClient client = client(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+
+        ResponseEntity<Object> response = client.get("/users/1").block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getBody(), equalTo(body.getBytes(StandardCharsets.UTF_8)));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void emptyResponseHasNoBody() {
+        BaseClient client = client(ClientResponse.create(HttpStatus.NO_CONTENT).build());
+
+        ResponseEntity<Object> response = client.delete("/users/1").block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NO_CONTENT));
+        assertThat(response.hasBody(), equalTo(false));
+    }
+
+    @Test
+    void getForwardsConditionalHeadersAndPassesNotModifiedThrough() {
+        BaseClient client = client(ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                .header(HttpHeaders.ETAG, "\"etag\"")
+                .build());
+        incomingRequest(HttpHeaders.IF_NONE_MATCH, "\"etag\"");
+
+        ResponseEntity<Object> response = client.get("/bookings", 1L).block();
+
+        assertThat(lastRequest.get().headers().getIfNoneMatch(), equalTo(List.of("\"etag\"")));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getHeaders().getETag(), equalTo("\"etag\""));
+        assertThat(response.hasBody(), equalTo(false));
+    }
+
+    @Test
+    void getCachedDoesNotForwardConditionalHeaders() {
+        BaseClient client = client(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.ETAG, "\"etag\"")
+                .body("{\"id\":1}")
+                .build());
+        incomingRequest(HttpHeaders.IF_NONE_MATCH, "\"etag\"");
+
+        ResponseEntity<Object> response = client.getCached("/items/1", 1L).block();
+
+        assertThat(lastRequest.get().headers().getIfNoneMatch(), equalTo(List.of()));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.hasBody(), equalTo(true));
+    }
+
+    @Test
+    void postStreamSendsNewlineDelimitedJson() {
+        BaseClient client = client(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("[]")
+                .build());
+
+        ResponseEntity<Object> response = client.postStream("/items/batch", 1L, Flux.just("first", "second"),
+                String.class).block();
+
+        assertThat(lastRequest.get().headers().getContentType(), equalTo(MediaType.APPLICATION_NDJSON));
+        assertThat(lastRequest.get().headers().getFirst(USER_ID), equalTo("1"));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
+    private void incomingRequest(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(header, value);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private BaseClient client(ClientResponse response) {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(false);
+        return new BaseClient(WebClient.builder()
+                .exchangeFunction(request -> {
+                    lastRequest.set(request);
+                    return Mono.just(response);
+                })
+                .build(),
+                new ResponseCache(properties, new SimpleMeterRegistry()),
+                new RequestCoalescer(new SimpleMeterRegistry()),
+                "/users",
+                Set.of("/users"));
+    }
+}
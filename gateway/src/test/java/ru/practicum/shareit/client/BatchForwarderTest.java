@@ -0,0 +1,183 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.Validation;
+import javax.validation.groups.Default;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class BatchForwarderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BatchForwarder batchForwarder = new BatchForwarder(objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void forwardOnlyValidRecordsAndMergeResultsInInputOrder() {
+        AtomicReference<List<ItemDto>> forwarded = new AtomicReference<>();
+        String serverResults = "[{\"index\":0,\"result\":{\"id\":1,\"name\":\"Дрель\"}},"
+                + "{\"index\":1,\"error\":\"Запрос с указанным ID не найден\"}]";
+
+        ResponseEntity<Object> response = batchForwarder.forward(body(item("Дрель") + "\n" + item("") + "\n"
+                        + "{\"name\":\"Пила\",\"description\":\"description\",\"available\":true,\"requestId\":9}\n"),
+                ItemDto.class, ItemDto.Create.class, 100,
+                accepted -> accepted.collectList()
+                        .doOnNext(forwarded::set)
+                        .thenReturn(ResponseEntity.ok(serverResults.getBytes(StandardCharsets.UTF_8))))
+                .block();
+
+        assertThat(forwarded.get().size(), equalTo(2));
+        assertThat(forwarded.get().get(1).getName(), equalTo("Пила"));
+        List<BatchResult> results = results(response);
+        assertThat(results.size(), equalTo(3));
+        assertThat(results.get(0).getIndex(), equalTo(0L));
+        assertThat(((Map<?, ?>) results.get(0).getResult()).get("name"), equalTo("Дрель"));
+        assertThat(results.get(1).getIndex(), equalTo(1L));
+        assertThat(results.get(1).getResult(), nullValue());
+        assertThat(results.get(1).getError(), containsString("name"));
+        assertThat(results.get(2).getIndex(), equalTo(2L));
+        assertThat(results.get(2).getError(), equalTo("Запрос с указанным ID не найден"));
+    }
+
+    @Test
+    void rejectEveryRecordOfJsonArrayWithoutServerResults() {
+        ResponseEntity<Object> response = batchForwarder.forward(body("[" + item("") + ",{\"name\":\"Пила\",\"description\":\"description\"}]"),
+                        ItemDto.class, ItemDto.Create.class, 100,
+                        accepted -> accepted.count()
+                                .map(count -> ResponseEntity.ok(("[]").getBytes(StandardCharsets.UTF_8))))
+                .block();
+
+        List<BatchResult> results = results(response);
+        assertThat(results.size(), equalTo(2));
+        assertThat(results.get(0).getError(), containsString("name"));
+        assertThat(results.get(1).getError(), containsString("available"));
+    }
+
+    @Test
+    void rejectBookingApprovalsWithoutDecision() {
+        AtomicReference<List<BookingApprovalDto>> forwarded = new AtomicReference<>();
+
+        ResponseEntity<Object> response = batchForwarder.forward(body("{\"bookingId\":1}\n"
+                                + "{\"bookingId\":2,\"approved\":true}\n"),
+                        BookingApprovalDto.class, Default.class, 100,
+                        accepted -> accepted.collectList()
+                                .doOnNext(forwarded::set)
+                                .thenReturn(ResponseEntity.ok("[{\"index\":0,\"result\":{\"id\":2}}]"
+                                        .getBytes(StandardCharsets.UTF_8))))
+                .block();
+
+        assertThat(forwarded.get().size(), equalTo(1));
+        assertThat(forwarded.get().get(0).getBookingId(), equalTo(2L));
+        List<BatchResult> results = results(response);
+        assertThat(results.get(0).getError(), containsString("approved"));
+        assertThat(results.get(1).getIndex(), equalTo(1L));
+        assertThat(((Map<?, ?>) results.get(1).getResult()).get("id"), equalTo(2));
+    }
+
+    @Test
+    void passServerErrorThrough() {
+        byte[] error = "{\"error\":\"Пользователь с указанным ID не найден\"}".getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<Object> response = batchForwarder.forward(body(item("Дрель")),
+                        ItemDto.class, ItemDto.Create.class, 100,
+                        accepted -> accepted.then(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .body((Object) error))))
+                .block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getBody(), equalTo(error));
+    }
+
+    @Test
+    void rejectWronglyTypedRecordInTheMiddleAndForwardTheRest() {
+        AtomicReference<List<ItemDto>> forwarded = new AtomicReference<>();
+
+        ResponseEntity<Object> response = batchForwarder.forward(body(item("Дрель") + "\n"
+                                + "{\"name\":\"Пила\",\"description\":\"description\",\"available\":\"x\"}\n"
+                                + item("Молоток") + "\n"),
+                        ItemDto.class, ItemDto.Create.class, 100,
+                        accepted -> accepted.collectList()
+                                .doOnNext(forwarded::set)
+                                .thenReturn(ResponseEntity.ok(("[{\"index\":0,\"result\":{\"id\":1}},"
+                                        + "{\"index\":1,\"result\":{\"id\":2}}]").getBytes(StandardCharsets.UTF_8))))
+                .block();
+
+        assertThat(forwarded.get().size(), equalTo(2));
+        List<BatchResult> results = results(response);
+        assertThat(results.size(), equalTo(3));
+        assertThat(results.get(1).getError(), containsString("Запись не может быть прочитана"));
+        assertThat(results.get(2).getIndex(), equalTo(2L));
+        assertThat(((Map<?, ?>) results.get(2).getResult()).get("id"), equalTo(2));
+    }
+
+    @Test
+    void rejectMalformedStreamWithBadRequest() {
+        ResponseEntity<Object> response = batchForwarder.forward(body(item("Дрель") + "\n{\"name\":"),
+                        ItemDto.class, ItemDto.Create.class, 100,
+                        accepted -> accepted.then(Mono.just(ResponseEntity.ok((Object) "[]".getBytes(StandardCharsets.UTF_8)))))
+                .block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat((String) ((Map<?, ?>) response.getBody()).get("error"), containsString("Пакет не может быть прочитан"));
+    }
+
+    @Test
+    void rejectBatchOverMaxSizeWithBadRequest() {
+        AtomicInteger forwarded = new AtomicInteger();
+
+        ResponseEntity<Object> response = batchForwarder.forward(body(item("Дрель") + "\n" + item("Пила") + "\n"
+                                + item("Молоток") + "\n"),
+                        ItemDto.class, ItemDto.Create.class, 2,
+                        accepted -> accepted.doOnNext(item -> forwarded.incrementAndGet())
+                                .then(Mono.just(ResponseEntity.ok((Object) "[]".getBytes(StandardCharsets.UTF_8)))))
+                .block();
+
+        assertThat(forwarded.get(), equalTo(2));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat(((Map<?, ?>) response.getBody()).get("error"),
+                equalTo("Пакет не может содержать больше 2 записей"));
+    }
+
+    @Test
+    void reportBadGatewayWhenServerResultsDoNotMatchForwardedRecords() {
+        ResponseEntity<Object> response = batchForwarder.forward(body(item("Дрель") + "\n" + item("Пила") + "\n"),
+                        ItemDto.class, ItemDto.Create.class, 100,
+                        accepted -> accepted.then(Mono.just(ResponseEntity.ok(
+                                (Object) "[{\"index\":0,\"result\":{\"id\":1}}]".getBytes(StandardCharsets.UTF_8)))))
+                .block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_GATEWAY));
+        assertThat(((Map<?, ?>) response.getBody()).get("error"), equalTo("Сервер вернул 1 результатов вместо 2"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<BatchResult> results(ResponseEntity<Object> response) {
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        return (List<BatchResult>) response.getBody();
+    }
+
+    private static String item(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"description\",\"available\":true}";
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
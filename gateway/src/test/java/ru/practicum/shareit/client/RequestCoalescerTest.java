@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.config.ResponseCacheProperties;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+class RequestCoalescerTest {
+
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private final List<Sinks.One<ClientResponse>> pendingResponses = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private BaseClient itemClient;
+    private BaseClient bookingClient;
+
+    @BeforeEach
+    void createTestEnvironment() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(false);
+        ResponseCache responseCache = new ResponseCache(properties, registry);
+        RequestCoalescer requestCoalescer = new RequestCoalescer(registry);
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    serverCalls.incrementAndGet();
+                    Sinks.One<ClientResponse> response = Sinks.one();
+                    pendingResponses.add(response);
+                    return response.asMono();
+                })
+                .build();
+        itemClient = new BaseClient(webClient, responseCache, requestCoalescer, "/items", Set.of("/items"));
+        bookingClient = new BaseClient(webClient, responseCache, requestCoalescer, "/bookings", Set.of("/items"));
+    }
+
+    @Test
+    void concurrentIdenticalReadsShareOneServerCall() {
+        List<ResponseEntity<Object>> responses = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            itemClient.get("/1", 1L).subscribe(responses::add);
+        }
+
+        completePendingResponses();
+
+        assertThat(serverCalls.get(), equalTo(1));
+        assertThat(responses.size(), equalTo(3));
+        assertThat(responses.get(1).getBody(), sameInstance(responses.get(0).getBody()));
+        assertThat(registry.get("gateway.requests.coalesced").counter().count(), equalTo(2.0));
+    }
+
+    @Test
+    void readsOfDifferentUsersAreNotCoalesced() {
+        itemClient.get("/1", 1L).subscribe();
+        itemClient.get("/1", 2L).subscribe();
+
+        assertThat(serverCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void readAfterCompletedFlightGoesToServer() {
+        itemClient.get("/1", 1L).subscribe();
+        completePendingResponses();
+
+        itemClient.get("/1", 1L).subscribe();
+
+        assertThat(serverCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void readAfterWriteDoesNotJoinEarlierFlight() {
+        itemClient.get("/1", 1L).subscribe();
+
+        bookingClient.post("", 2L, Map.of("itemId", 1)).subscribe();
+        completePendingResponses();
+        itemClient.get("/1", 1L).subscribe();
+
+        assertThat(serverCalls.get(), equalTo(3));
+    }
+
+    private void completePendingResponses() {
+        pendingResponses.forEach(response -> response.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+                .body("{\"id\":1}")
+                .build()));
+        pendingResponses.clear();
+    }
+}
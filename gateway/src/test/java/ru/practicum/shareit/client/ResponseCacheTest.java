@@ -0,0 +1,153 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.config.ResponseCacheProperties;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ResponseCacheTest {
+
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private HttpStatus serverStatus;
+    private ResponseCache responseCache;
+    private BaseClient itemClient;
+    private BaseClient bookingClient;
+
+    @BeforeEach
+    void createTestEnvironment() {
+        serverStatus = HttpStatus.OK;
+        responseCache = new ResponseCache(new ResponseCacheProperties(), registry);
+        itemClient = client("/items", Set.of("/items", "/requests"));
+        bookingClient = client("/bookings", Set.of("/items"));
+    }
+
+    @AfterEach
+    void resetRequestAttributes() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void repeatedReadIsServedFromCache() {
+        Map<String, Object> parameters = Map.of("text", "дрель", "from", 0, "size", 20);
+
+        ResponseEntity<Object> first = itemClient.getCached("/search?text={text}&from={from}&size={size}", null,
+                parameters).block();
+        ResponseEntity<Object> second = itemClient.getCached("/search?text={text}&from={from}&size={size}", null,
+                Map.of("size", 20, "from", 0, "text", "дрель")).block();
+
+        assertThat(serverCalls.get(), equalTo(1));
+        assertThat(second.getBody(), equalTo(first.getBody()));
+        assertThat(registry.get("cache.gets").tag("cache", "gateway.responses").tag("result", "hit")
+                .functionCounter().count(), equalTo(1.0));
+        assertThat(registry.get("cache.gets").tag("cache", "gateway.responses").tag("result", "miss")
+                .functionCounter().count(), equalTo(1.0));
+    }
+
+    @Test
+    void conditionalReadIsServedFromCachedResponse() {
+        ResponseEntity<Object> first = itemClient.getCached("/1", 1L).block();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"etag\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        ResponseEntity<Object> second = itemClient.getCached("/1", 1L).block();
+
+        assertThat(serverCalls.get(), equalTo(1));
+        assertThat(second.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(second.getBody(), equalTo(first.getBody()));
+        assertThat(second.getHeaders().getETag(), equalTo("\"etag\""));
+    }
+
+    @Test
+    void usersDoNotShareCachedResponses() {
+        itemClient.getCached("/1", 1L).block();
+        itemClient.getCached("/1", 2L).block();
+        itemClient.getCached("/1", 1L).block();
+
+        assertThat(serverCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void writeThroughAnyClientInvalidatesAffectedRegions() {
+        itemClient.getCached("/1", 1L).block();
+
+        bookingClient.post("", 2L, Map.of("itemId", 1)).block();
+        itemClient.getCached("/1", 1L).block();
+
+        assertThat(serverCalls.get(), equalTo(3));
+    }
+
+    @Test
+    void cacheIsConsultedOnSubscription() {
+        Mono<ResponseEntity<Object>> deferred = itemClient.getCached("/1", 1L);
+        itemClient.getCached("/1", 1L).block();
+
+        deferred.block();
+
+        assertThat(serverCalls.get(), equalTo(1));
+    }
+
+    @Test
+    void invalidationBeforeSubscriptionIsSeen() {
+        itemClient.getCached("/1", 1L).block();
+        Mono<ResponseEntity<Object>> deferred = itemClient.getCached("/1", 1L);
+
+        bookingClient.post("", 2L, Map.of("itemId", 1)).block();
+        deferred.block();
+
+        assertThat(serverCalls.get(), equalTo(3));
+    }
+
+    @Test
+    void writeDoesNotInvalidateUnrelatedRegions() {
+        BaseClient userClient = client("/users", Set.of("/users"));
+        userClient.getCached("/1").block();
+
+        bookingClient.post("", 2L, Map.of("itemId", 1)).block();
+        userClient.getCached("/1").block();
+
+        assertThat(serverCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void errorResponsesAreNotCached() {
+        serverStatus = HttpStatus.NOT_FOUND;
+
+        itemClient.getCached("/1", 1L).block();
+        itemClient.getCached("/1", 1L).block();
+
+        assertThat(serverCalls.get(), equalTo(2));
+    }
+
+    private BaseClient client(String region, Set<String> invalidatedRegions) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    serverCalls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(serverStatus)
+                            .header(HttpHeaders.ETAG, "\"etag\"")
+                            .body("{\"call\":" + serverCalls.get() + "}")
+                            .build());
+                })
+                .build();
+        return new BaseClient(webClient, responseCache, new RequestCoalescer(registry), region, invalidatedRegions);
+    }
+}
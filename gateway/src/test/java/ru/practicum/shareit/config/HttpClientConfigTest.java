@@ -0,0 +1,91 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class HttpClientConfigTest {
+
+    private final HttpClientConfig config = new HttpClientConfig();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void startServer() {
+        Metrics.addRegistry(registry);
+        server = HttpServer.create()
+                .port(0)
+                .compress(true)
+                .route(routes -> routes
+                        .get("/users", (request, response) -> response.sendString(Mono.just("[]")))
+                        .get("/encoding", (request, response) -> response.sendString(
+                                Mono.just(request.requestHeaders().get(HttpHeaders.ACCEPT_ENCODING, "")))))
+                .bindNow();
+    }
+
+    @AfterEach
+    void stopServer() {
+        connectionProvider.dispose();
+        server.disposeNow();
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void connectionProviderUsesConfiguredLimits() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setMaxConnections(50);
+
+        connectionProvider = config.serverConnectionProvider(properties);
+
+        assertThat(connectionProvider.maxConnections(), equalTo(50));
+    }
+
+    @Test
+    void connectionPoolUtilizationIsExposedAsMetrics() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        connectionProvider = config.serverConnectionProvider(properties);
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + server.port())
+                .clientConnector(config.serverConnector(connectionProvider, properties))
+                .build();
+
+        String response = webClient.get().uri("/users").retrieve().bodyToMono(String.class).block();
+
+        assertThat(response, equalTo("[]"));
+        assertThat(registry.get("reactor.netty.connection.provider.max.connections")
+                .tag("name", "shareit-server").gauge().value(), equalTo(200.0));
+        assertThat(registry.get("reactor.netty.connection.provider.max.pending.connections")
+                .tag("name", "shareit-server").gauge().value(), equalTo(5000.0));
+    }
+
+    @Test
+    void serverResponsesAreRequestedCompressedAndDecoded() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        connectionProvider = config.serverConnectionProvider(properties);
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + server.port())
+                .clientConnector(config.serverConnector(connectionProvider, properties))
+                .build();
+
+        ResponseEntity<String> response = webClient.get().uri("/encoding").retrieve().toEntity(String.class).block();
+
+        assertThat(response.getBody(), equalTo("gzip"));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), nullValue());
+    }
+}
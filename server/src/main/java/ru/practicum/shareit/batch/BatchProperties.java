@@ -0,0 +1,14 @@
+package ru.practicum.shareit.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.batch")
+public class BatchProperties {
+
+    private int itemsMaxSize = 5000;
+    private int bookingsMaxSize = 100;
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.InvalidBatchException;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchReader {
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BatchReader(ObjectMapper objectMapper, EntityManager entityManager,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * The whole batch, bounded by maxSize, is read before the transaction starts: a slow upload
+     * holds no connection, and the chunks are still written all-or-nothing.
+     */
+    public <T, R> List<BatchResult<R>> readInChunks(InputStream body, Class<T> type, int maxSize,
+                                                    Function<List<T>, List<BatchResult<R>>> handler)
+            throws IOException {
+        List<BatchResult<R>> results = new ArrayList<>();
+        List<T> values = new ArrayList<>();
+        List<Long> indexes = new ArrayList<>();
+        try (MappingIterator<JsonNode> records = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            long index = 0;
+            while (records.hasNextValue()) {
+                JsonNode record = records.nextValue();
+                if (index == maxSize) {
+                    throw new InvalidBatchException("Пакет не может содержать больше " + maxSize + " записей");
+                }
+                try {
+                    values.add(read(record, type));
+                    indexes.add(index);
+                } catch (JsonProcessingException e) {
+                    results.add(BatchResult.failed(index, "Запись не может быть прочитана: " + e.getOriginalMessage()));
+                }
+                index++;
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidBatchException("Пакет не может быть прочитан: " + e.getOriginalMessage());
+        }
+        if (!values.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < values.size(); from += chunkSize) {
+                    int to = Math.min(from + chunkSize, values.size());
+                    handle(values.subList(from, to), indexes.subList(from, to), handler, results);
+                }
+            });
+        }
+        results.sort(Comparator.comparingLong(BatchResult::getIndex));
+        return results;
+    }
+
+    public <T> List<T> readAll(InputStream body, Class<T> type, int maxSize) throws IOException {
+        List<T> values = new ArrayList<>();
+        try (MappingIterator<T> records = objectMapper.readerFor(type).readValues(body)) {
+            while (records.hasNextValue()) {
+                if (values.size() == maxSize) {
+                    throw new InvalidBatchException("Пакет не может содержать больше " + maxSize + " записей");
+                }
+                values.add(records.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidBatchException("Пакет не может быть прочитан: " + e.getOriginalMessage());
+        }
+        return values;
+    }
+
+    private <T> T read(JsonNode record, Class<T> type) throws JsonProcessingException {
+        T value = objectMapper.treeToValue(record, type);
+        if (value == null) {
+            throw JsonMappingException.from(objectMapper.treeAsTokens(record), "пустая запись");
+        }
+        return value;
+    }
+
+    private <T, R> void handle(List<T> chunk, List<Long> chunkIndexes,
+                               Function<List<T>, List<BatchResult<R>>> handler, List<BatchResult<R>> results) {
+        for (BatchResult<R> result : handler.apply(chunk)) {
+            result.setIndex(chunkIndexes.get((int) result.getIndex()));
+            results.add(result);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -1,11 +1,21 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchProperties;
+import ru.practicum.shareit.batch.BatchReader;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.CursorResponse;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static ru.practicum.shareit.constants.headers.HeadersConstants.USER_ID;
@@ -16,6 +26,8 @@ import static ru.practicum.shareit.constants.headers.HeadersConstants.USER_ID;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BatchReader batchReader;
+    private final BatchProperties batchProperties;
 
     @PostMapping
     public BookingResponseDto createBooking(@RequestHeader(USER_ID) long userId,
@@ -23,6 +35,20 @@ public class BookingController {
         return bookingService.createBooking(bookingRequestDto, userId);
     }
 
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<BatchResult<BookingResponseDto>> createBookings(@RequestHeader(USER_ID) long userId,
+                                                                InputStream bookings) throws IOException {
+        return bookingService.createBookings(batchReader.readAll(bookings, BookingRequestDto.class,
+                batchProperties.getBookingsMaxSize()), userId);
+    }
+
+    @PatchMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<BatchResult<BookingResponseDto>> confirmBookings(@RequestHeader(USER_ID) long userId,
+                                                                 InputStream approvals) throws IOException {
+        return bookingService.confirmBookings(userId, batchReader.readAll(approvals,
+                BookingApprovalDto.class, batchProperties.getBookingsMaxSize()));
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto confirmBooking(@RequestHeader(USER_ID) long userId,
                                              @PathVariable long bookingId,
@@ -37,20 +63,30 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getAllUserBookings(@RequestHeader(USER_ID) long userId,
-                                                       @RequestParam(defaultValue = "ALL")
-                                                       String state,
-                                                       @RequestParam(defaultValue = "0") int from,
-                                                       @RequestParam(defaultValue = "20") int size) {
-        return bookingService.getAllUserBooking(userId, state, from, size);
+    public ResponseEntity<List<BookingResponseDto>> getAllUserBookings(@RequestHeader(USER_ID) long userId,
+                                                                       @RequestParam(defaultValue = "ALL")
+                                                                       String state,
+                                                                       @RequestParam(defaultValue = "0") int from,
+                                                                       @RequestParam(defaultValue = "20") int size,
+                                                                       @RequestParam(required = false)
+                                                                       String cursor) {
+        List<BookingResponseDto> bookings = cursor == null
+                ? bookingService.getAllUserBooking(userId, state, from, size)
+                : bookingService.getAllUserBooking(userId, state, PageCursor.decode(cursor), size);
+        return CursorResponse.withNextCursor(bookings, size, b -> PageCursor.of(b.getStart(), b.getId()));
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getAllOwnerBookings(@RequestHeader(USER_ID) long userId,
-                                                        @RequestParam(defaultValue = "ALL")
-                                                        String state,
-                                                        @RequestParam(defaultValue = "0") int from,
-                                                        @RequestParam(defaultValue = "20") int size) {
-        return bookingService.getAllOwnerBooking(userId, state, from, size);
+    public ResponseEntity<List<BookingResponseDto>> getAllOwnerBookings(@RequestHeader(USER_ID) long userId,
+                                                                        @RequestParam(defaultValue = "ALL")
+                                                                        String state,
+                                                                        @RequestParam(defaultValue = "0") int from,
+                                                                        @RequestParam(defaultValue = "20") int size,
+                                                                        @RequestParam(required = false)
+                                                                        String cursor) {
+        List<BookingResponseDto> bookings = cursor == null
+                ? bookingService.getAllOwnerBooking(userId, state, from, size)
+                : bookingService.getAllOwnerBooking(userId, state, PageCursor.decode(cursor), size);
+        return CursorResponse.withNextCursor(bookings, size, b -> PageCursor.of(b.getStart(), b.getId()));
     }
 }
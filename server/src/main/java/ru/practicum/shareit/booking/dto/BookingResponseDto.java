@@ -17,4 +17,9 @@ public class BookingResponseDto {
     private BookingStatus status;
     private UserShortDto booker;
     private ItemShortDto item;
+
+    public BookingResponseDto(long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                              long bookerId, long itemId, String itemName) {
+        this(id, start, end, status, new UserShortDto(bookerId), new ItemShortDto(itemId, itemName));
+    }
 }
@@ -6,6 +6,7 @@ import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.summary.ItemBookingSummary;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.mapper.UserMapper;
@@ -42,4 +43,24 @@ public class BookingMapper {
                 booking.getBooker().getId()
         );
     }
+
+    public BookingShortDto makeLastBookingShortDto(ItemBookingSummary summary) {
+        if (summary == null || summary.getLastBookingId() == null) {
+            return null;
+        }
+        return new BookingShortDto(
+                summary.getLastBookingId(),
+                summary.getLastBookerId()
+        );
+    }
+
+    public BookingShortDto makeNextBookingShortDto(ItemBookingSummary summary) {
+        if (summary == null || summary.getNextBookingId() == null) {
+            return null;
+        }
+        return new BookingShortDto(
+                summary.getNextBookingId(),
+                summary.getNextBookerId()
+        );
+    }
 }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.List;
 
@@ -9,11 +12,19 @@ public interface BookingService {
 
     BookingResponseDto createBooking(BookingRequestDto bookingRequestDto, long bookerId);
 
+    List<BatchResult<BookingResponseDto>> createBookings(List<BookingRequestDto> bookingRequestDtos, long bookerId);
+
     BookingResponseDto confirmBooking(long userId, long bookingId, boolean isConfirm);
 
+    List<BatchResult<BookingResponseDto>> confirmBookings(long userId, List<BookingApprovalDto> approvals);
+
     BookingResponseDto getBookingResponse(long userId, long id);
 
     List<BookingResponseDto> getAllUserBooking(long bookerId, String state, int from, int size);
 
+    List<BookingResponseDto> getAllUserBooking(long bookerId, String state, PageCursor after, int size);
+
     List<BookingResponseDto> getAllOwnerBooking(long ownerId, String state, int from, int size);
+
+    List<BookingResponseDto> getAllOwnerBooking(long ownerId, String state, PageCursor after, int size);
 }
@@ -1,134 +1,257 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.state.BookingRole;
 import ru.practicum.shareit.booking.state.State;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.UnsupportedStateException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.registry.UserRegistry;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.constants.error.ErrorConstants.*;
-import static ru.practicum.shareit.constants.sort.SortConstants.SORT_BY_START_DESC;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
+    private static final String BOOKING_ADMISSION_TIMER = "shareit.booking.admission";
+    private static final String PERIOD_ALREADY_BOOKED = "Предмет уже забронирован на указанный период";
+
     private final BookingStorage bookingStorage;
-    private final UserStorage userStorage;
+    private final UserRegistry userRegistry;
     private final ItemStorage itemStorage;
+    private final ItemBookingSummaryService summaryService;
 
     @Override
     @Transactional
+    @Timed(value = BOOKING_ADMISSION_TIMER, extraTags = {"operation", "create"})
     public BookingResponseDto createBooking(BookingRequestDto bookingRequestDto, long bookerId) {
-        User booker = getUser(bookerId);
-        Item item = getItem(bookingRequestDto.getItemId());
+        User booker = userRegistry.getUser(bookerId);
+        Item item = getLockedItem(bookingRequestDto.getItemId());
+        checkBookable(item, bookerId);
+        checkPeriodIsFree(item.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd());
 
-        if (item.getOwner().getId() == bookerId) {
-            throw new EntityNotFoundException("Предмет не доступен для бронивания владельцу вещи");
+        Booking booking = bookingStorage.save(BookingMapper.makeBooking(bookingRequestDto, item, booker));
+        summaryService.refresh(item.getId());
+        return BookingMapper.makeBookingResponse(booking);
+    }
+
+    @Override
+    @Transactional
+    @Timed(value = BOOKING_ADMISSION_TIMER, extraTags = {"operation", "create-batch"})
+    public List<BatchResult<BookingResponseDto>> createBookings(List<BookingRequestDto> bookingRequestDtos,
+                                                                long bookerId) {
+        if (bookingRequestDtos.isEmpty()) {
+            return List.of();
         }
+        User booker = userRegistry.getUser(bookerId);
+        Map<Long, Item> items = getLockedItems(bookingRequestDtos.stream()
+                .map(BookingRequestDto::getItemId)
+                .collect(Collectors.toSet()));
+        Map<Long, List<Booking>> approvedBookings = findApprovedBookings(items.keySet(),
+                bookingRequestDtos.stream().map(BookingRequestDto::getStart),
+                bookingRequestDtos.stream().map(BookingRequestDto::getEnd));
 
-        if (item.isAvailable()) {
-            Booking booking = bookingStorage.save(BookingMapper.makeBooking(bookingRequestDto, item, booker));
-            return BookingMapper.makeBookingResponse(booking);
-        } else {
-            throw new NotAvailableException("Предмет не доступен для бронивания");
+        List<BatchResult<BookingResponseDto>> results = new ArrayList<>(bookingRequestDtos.size());
+        Set<Long> bookedItemIds = new LinkedHashSet<>();
+        for (int i = 0; i < bookingRequestDtos.size(); i++) {
+            BookingRequestDto bookingRequestDto = bookingRequestDtos.get(i);
+            try {
+                Item item = Optional.ofNullable(items.get(bookingRequestDto.getItemId()))
+                        .orElseThrow(() -> new EntityNotFoundException(WRONG_ITEM_ID));
+                checkBookable(item, bookerId);
+                checkPeriodIsFree(approvedBookings.get(item.getId()),
+                        bookingRequestDto.getStart(), bookingRequestDto.getEnd());
+
+                Booking booking = bookingStorage.save(BookingMapper.makeBooking(bookingRequestDto, item, booker));
+                bookedItemIds.add(item.getId());
+                results.add(BatchResult.ok(i, BookingMapper.makeBookingResponse(booking)));
+            } catch (EntityNotFoundException | NotAvailableException e) {
+                results.add(BatchResult.failed(i, e.getMessage()));
+            }
         }
+        bookedItemIds.forEach(summaryService::refresh);
+        return results;
     }
 
     @Override
     @Transactional
+    @Timed(value = BOOKING_ADMISSION_TIMER, extraTags = {"operation", "confirm"})
     public BookingResponseDto confirmBooking(long userId, long bookingId, boolean isConfirm) {
+        long itemId = getLockedItem(bookingStorage.findItemIdById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException(WRONG_BOOKING_ID))).getId();
         Booking booking = getBooking(bookingId);
         checkBookingStatus(booking);
-
-        long itemOwnerId = booking.getItem().getOwner().getId();
-
-        if (itemOwnerId != userId) {
-            throw new EntityNotFoundException("Изменить статус запроса может только владелец вещи");
-        }
+        checkItemOwner(booking, userId);
 
         if (isConfirm) {
+            checkPeriodIsFree(itemId, booking.getStart(), booking.getEnd());
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
         bookingStorage.save(booking);
+        summaryService.refresh(itemId);
 
         return BookingMapper.makeBookingResponse(booking);
     }
 
     @Override
-    public BookingResponseDto getBookingResponse(long userId, long bookingId) {
-        Booking booking = getBooking(bookingId);
-        User booker = booking.getBooker();
-        Item item = booking.getItem();
-        if (booker.getId() == userId || item.getOwner().getId() == userId) {
-            return BookingMapper.makeBookingResponse(booking);
-        } else {
-            throw new EntityNotFoundException(
-                    "Данные о booking могут быть запрошены либо владельцем вещи либо автором бронивания");
+    @Transactional
+    @Timed(value = BOOKING_ADMISSION_TIMER, extraTags = {"operation", "confirm-batch"})
+    public List<BatchResult<BookingResponseDto>> confirmBookings(long userId, List<BookingApprovalDto> approvals) {
+        if (approvals.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> bookingIds = approvals.stream()
+                .map(BookingApprovalDto::getBookingId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = getLockedItems(new HashSet<>(bookingStorage.findItemIdsByIdInAndOwnerId(bookingIds,
+                userId)));
+        Map<Long, Booking> bookings = bookingStorage.findByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<Booking> ownBookings = bookings.values().stream()
+                .filter(booking -> booking.getItem().getOwner().getId() == userId)
+                .collect(Collectors.toList());
+        Map<Long, List<Booking>> approvedBookings = findApprovedBookings(items.keySet(),
+                ownBookings.stream().map(Booking::getStart),
+                ownBookings.stream().map(Booking::getEnd));
+
+        List<BatchResult<BookingResponseDto>> results = new ArrayList<>(approvals.size());
+        List<Booking> changedBookings = new ArrayList<>();
+        for (int i = 0; i < approvals.size(); i++) {
+            BookingApprovalDto approval = approvals.get(i);
+            try {
+                Booking booking = Optional.ofNullable(bookings.get(approval.getBookingId()))
+                        .orElseThrow(() -> new EntityNotFoundException(WRONG_BOOKING_ID));
+                checkBookingStatus(booking);
+                checkItemOwner(booking, userId);
+
+                if (approval.isApproved()) {
+                    List<Booking> itemBookings = approvedBookings
+                            .computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>());
+                    checkPeriodIsFree(itemBookings, booking.getStart(), booking.getEnd());
+                    booking.setStatus(BookingStatus.APPROVED);
+                    itemBookings.add(booking);
+                } else {
+                    booking.setStatus(BookingStatus.REJECTED);
+                }
+                changedBookings.add(booking);
+                results.add(BatchResult.ok(i, BookingMapper.makeBookingResponse(booking)));
+            } catch (EntityNotFoundException | NotAvailableException e) {
+                results.add(BatchResult.failed(i, e.getMessage()));
+            }
         }
+        bookingStorage.saveAll(changedBookings);
+        changedBookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .forEach(summaryService::refresh);
+        return results;
+    }
+
+    @Override
+    public BookingResponseDto getBookingResponse(long userId, long bookingId) {
+        return bookingStorage.findBookingResponse(bookingId, userId)
+                .orElseThrow(() -> bookingStorage.existsById(bookingId)
+                        ? new EntityNotFoundException(
+                        "Данные о booking могут быть запрошены либо владельцем вещи либо автором бронивания")
+                        : new EntityNotFoundException(WRONG_BOOKING_ID));
     }
 
     @Override
     public List<BookingResponseDto> getAllUserBooking(long bookerId, String state, int from, int size) {
-        getUser(bookerId);
-        List<Booking> bookingsByBookerId = findBookingsByBookerIdAndState(state,
-                bookerId,
-                LocalDateTime.now(),
-                PageRequest.of(from / size, size, SORT_BY_START_DESC));
-
-        return bookingsByBookerId.stream()
-                .map(BookingMapper::makeBookingResponse)
-                .collect(Collectors.toList());
+        return findBookings(BookingRole.BOOKER, bookerId, state, null, OffsetPageRequest.of(from, size));
+    }
+
+    @Override
+    public List<BookingResponseDto> getAllUserBooking(long bookerId, String state, PageCursor after, int size) {
+        return findBookings(BookingRole.BOOKER, bookerId, state, after, OffsetPageRequest.of(0, size));
     }
 
     @Override
     public List<BookingResponseDto> getAllOwnerBooking(long ownerId, String state, int from, int size) {
-        getUser(ownerId);
-        List<Booking> bookingsByOwnerId = findBookingsByOwnerIdAndState(state,
-                ownerId,
-                LocalDateTime.now(),
-                PageRequest.of(from / size, size, SORT_BY_START_DESC));
-
-        return bookingsByOwnerId.stream()
-                .map((BookingMapper::makeBookingResponse))
-                .collect(Collectors.toList());
+        return findBookings(BookingRole.OWNER, ownerId, state, null, OffsetPageRequest.of(from, size));
     }
 
-    private User getUser(long id) {
-        return userStorage.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(WRONG_USER_ID));
+    @Override
+    public List<BookingResponseDto> getAllOwnerBooking(long ownerId, String state, PageCursor after, int size) {
+        return findBookings(BookingRole.OWNER, ownerId, state, after, OffsetPageRequest.of(0, size));
     }
 
-    private Item getItem(long id) {
-        return itemStorage.findById(id)
+    private Item getLockedItem(long id) {
+        return itemStorage.findLockedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(WRONG_ITEM_ID));
     }
 
+    private Map<Long, Item> getLockedItems(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return itemStorage.findLockedByIdIn(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+
     private Booking getBooking(long id) {
         return bookingStorage.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(WRONG_BOOKING_ID));
     }
 
+    private Map<Long, List<Booking>> findApprovedBookings(Set<Long> itemIds, Stream<LocalDateTime> starts,
+                                                          Stream<LocalDateTime> ends) {
+        Optional<LocalDateTime> start = starts.filter(Objects::nonNull).min(Comparator.naturalOrder());
+        Optional<LocalDateTime> end = ends.filter(Objects::nonNull).max(Comparator.naturalOrder());
+        if (itemIds.isEmpty() || start.isEmpty() || end.isEmpty()) {
+            return new HashMap<>();
+        }
+        return bookingStorage.findOverlapping(itemIds, BookingStatus.APPROVED, start.get(), end.get()).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), HashMap::new,
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
+    private void checkBookable(Item item, long bookerId) {
+        if (item.getOwner().getId() == bookerId) {
+            throw new EntityNotFoundException("Предмет не доступен для бронивания владельцу вещи");
+        }
+        if (!item.isAvailable()) {
+            throw new NotAvailableException("Предмет не доступен для бронивания");
+        }
+    }
+
     private void checkBookingStatus(Booking booking) {
         if (!booking.getStatus().equals(BookingStatus.WAITING)) {
             throw new NotAvailableException(
@@ -136,53 +259,37 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private List<Booking> findBookingsByBookerIdAndState(String state, long bookerId, LocalDateTime now, PageRequest pr) {
-        State s;
-        try {
-            s = State.valueOf(state);
-        } catch (IllegalArgumentException e) {
-            throw new UnsupportedStateException("Unknown state: UNSUPPORTED_STATUS");
+    private void checkItemOwner(Booking booking, long userId) {
+        if (booking.getItem().getOwner().getId() != userId) {
+            throw new EntityNotFoundException("Изменить статус запроса может только владелец вещи");
+        }
+    }
+
+    private void checkPeriodIsFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED,
+                end, start)) {
+            throw new NotAvailableException(PERIOD_ALREADY_BOOKED);
         }
-        switch (s) {
-            case ALL:
-                return bookingStorage.findBookingByBookerId(bookerId, pr);
-            case PAST:
-                return bookingStorage.findAllBookingByBookerIdAndEndBefore(bookerId, now, pr);
-            case CURRENT:
-                return bookingStorage.findAllBookingByBookerIdAndStartBeforeAndEndAfter(bookerId, now, now, pr);
-            case FUTURE:
-                return bookingStorage.findAllBookingByBookerIdAndStartAfter(bookerId, now, pr);
-            case REJECTED:
-                return bookingStorage.findAllBookingByBookerIdAndStatusIs(bookerId, BookingStatus.REJECTED, pr);
-            case WAITING:
-                return bookingStorage.findAllBookingByBookerIdAndStatusIs(bookerId, BookingStatus.WAITING, pr);
-            default:
-                throw new UnsupportedStateException("Unknown state: UNSUPPORTED_STATUS");
+    }
+
+    private void checkPeriodIsFree(List<Booking> approvedBookings, LocalDateTime start, LocalDateTime end) {
+        if (approvedBookings != null && approvedBookings.stream()
+                .anyMatch(booking -> booking.getStart().isBefore(end) && booking.getEnd().isAfter(start))) {
+            throw new NotAvailableException(PERIOD_ALREADY_BOOKED);
         }
     }
 
-    private List<Booking> findBookingsByOwnerIdAndState(String state, long ownerId, LocalDateTime now, PageRequest pr) {
-        State s;
+    private List<BookingResponseDto> findBookings(BookingRole role, long userId, String state, PageCursor after,
+                                                  Pageable page) {
+        userRegistry.checkExists(userId);
+        return bookingStorage.findBookings(role, userId, parseState(state), LocalDateTime.now(), after, page);
+    }
+
+    private State parseState(String state) {
         try {
-            s = State.valueOf(state);
+            return State.valueOf(state);
         } catch (IllegalArgumentException e) {
             throw new UnsupportedStateException("Unknown state: UNSUPPORTED_STATUS");
         }
-        switch (s) {
-            case ALL:
-                return bookingStorage.findBookingByItemOwnerId(ownerId, pr);
-            case PAST:
-                return bookingStorage.findAllBookingByItemOwnerIdAndEndBefore(ownerId, now, pr);
-            case CURRENT:
-                return bookingStorage.findAllBookingByItemOwnerIdAndStartBeforeAndEndAfter(ownerId, now, now, pr);
-            case FUTURE:
-                return bookingStorage.findAllBookingByItemOwnerIdAndStartAfter(ownerId, now, pr);
-            case REJECTED:
-                return bookingStorage.findAllBookingByItemOwnerIdAndStatusIs(ownerId, BookingStatus.REJECTED, pr);
-            case WAITING:
-                return bookingStorage.findAllBookingByItemOwnerIdAndStatusIs(ownerId, BookingStatus.WAITING, pr);
-            default:
-                throw new UnsupportedStateException("Unknown state: UNSUPPORTED_STATUS");
-        }
     }
 }
@@ -1,42 +1,61 @@
 package ru.practicum.shareit.booking.storage;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStartDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.status.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingStorage extends JpaRepository<Booking, Long> {
+public interface BookingStorage extends JpaRepository<Booking, Long>, BookingStorageCustom {
 
-    List<Booking> findBookingByBookerId(long bookerId, Pageable p);
+    @Override
+    @EntityGraph("Booking.item")
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findBookingByItemOwnerId(long ownerId, Pageable p);
+    @EntityGraph("Booking.item")
+    List<Booking> findByIdIn(Collection<Long> ids);
 
-    List<Booking> findBookingsByItemIdAndStatusNot(long itemId, Sort sort, BookingStatus status);
+    @Query("select b.item.id from Booking b where b.id = :bookingId")
+    Optional<Long> findItemIdById(long bookingId);
 
-    List<Booking> findAllBookingByBookerIdAndEndBefore(long bookerIdm, LocalDateTime now, Pageable p);
+    @Query("select distinct b.item.id from Booking b where b.id in :ids and b.item.owner.id = :ownerId")
+    List<Long> findItemIdsByIdInAndOwnerId(Collection<Long> ids, long ownerId);
 
-    List<Booking> findAllBookingByBookerIdAndStartBeforeAndEndAfter(long bookerId, LocalDateTime now,
-                                                                    LocalDateTime sameNow, Pageable p);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingResponseDto(b.id, b.start, b.end, b.status, " +
+            "b.booker.id, i.id, i.name) " +
+            "from Booking b join b.item i " +
+            "where b.id = :bookingId and (b.booker.id = :userId or i.owner.id = :userId)")
+    Optional<BookingResponseDto> findBookingResponse(long bookingId, long userId);
 
-    List<Booking> findAllBookingByBookerIdAndStartAfter(long bookerId, LocalDateTime now, Pageable p);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingStartDto(b.id, b.booker.id, b.start) from Booking b " +
+            "where b.item.id = :itemId and b.status <> :excluded and b.start <= :now " +
+            "order by b.start desc")
+    List<BookingStartDto> findLastBooking(long itemId, BookingStatus excluded, LocalDateTime now, Pageable page);
 
-    List<Booking> findAllBookingByBookerIdAndStatusIs(long bookerId, BookingStatus status, Pageable p);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingStartDto(b.id, b.booker.id, b.start) from Booking b " +
+            "where b.item.id = :itemId and b.status <> :excluded and b.start > :now " +
+            "order by b.start asc")
+    List<BookingStartDto> findNextBooking(long itemId, BookingStatus excluded, LocalDateTime now, Pageable page);
 
-    List<Booking> findAllBookingByItemOwnerIdAndEndBefore(long bookerIdm, LocalDateTime now, Pageable p);
-
-    List<Booking> findAllBookingByItemOwnerIdAndStartBeforeAndEndAfter(long bookerId, LocalDateTime now,
-                                                                       LocalDateTime sameNow, Pageable p);
-
-    List<Booking> findAllBookingByItemOwnerIdAndStartAfter(long bookerId, LocalDateTime now, Pageable p);
-
-    List<Booking> findAllBookingByItemOwnerIdAndStatusIs(long bookerId, BookingStatus status, Pageable p);
+    @Query("select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.item.id = :itemId and b.end < :now and b.booker.id = :bookerId")
+    boolean existsByItemIdAndEndBeforeAndBookerIdIs(long itemId, LocalDateTime now, long bookerId);
 
-    List<Booking> findByItemInAndStatusNot(List<Item> items, Sort sort, BookingStatus status);
+    @Query("select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.item.id = :itemId and b.status = :status and b.start < :end and b.end > :start")
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(long itemId, BookingStatus status,
+                                                             LocalDateTime end, LocalDateTime start);
 
-    boolean existsByItemIdAndEndBeforeAndBookerIdIs(long itemId, LocalDateTime now, long bookerId);
+    @Query("select b from Booking b where b.item.id in :itemIds and b.status = :status " +
+            "and b.start < :end and b.end > :start")
+    List<Booking> findOverlapping(Collection<Long> itemIds, BookingStatus status,
+                                  LocalDateTime start, LocalDateTime end);
 }
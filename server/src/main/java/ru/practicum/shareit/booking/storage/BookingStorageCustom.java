@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.state.BookingRole;
+import ru.practicum.shareit.booking.state.State;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingStorageCustom {
+
+    List<BookingResponseDto> findBookings(BookingRole role, long userId, State state, LocalDateTime now,
+                                          PageCursor after, Pageable page);
+}
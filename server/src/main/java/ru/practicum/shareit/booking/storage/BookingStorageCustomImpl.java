@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.state.BookingRole;
+import ru.practicum.shareit.booking.state.State;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingStorageCustomImpl implements BookingStorageCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingResponseDto> findBookings(BookingRole role, long userId, State state, LocalDateTime now,
+                                                 PageCursor after, Pageable page) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponseDto> query = cb.createQuery(BookingResponseDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Path<Long> bookerId = booking.get("booker").get("id");
+
+        query.select(cb.construct(BookingResponseDto.class,
+                        booking.get("id"),
+                        booking.get("start"),
+                        booking.get("end"),
+                        booking.get("status"),
+                        bookerId,
+                        item.get("id"),
+                        item.get("name")))
+                .where(cb.and(rolePredicate(cb, role, userId, item, bookerId),
+                        statePredicate(cb, state, now, booking),
+                        afterPredicate(cb, after, booking)))
+                .orderBy(cb.desc(booking.get("start")), cb.asc(booking.get("id")));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+
+    private Predicate rolePredicate(CriteriaBuilder cb, BookingRole role, long userId,
+                                    Join<Booking, Item> item, Path<Long> bookerId) {
+        switch (role) {
+            case BOOKER:
+                return cb.equal(bookerId, userId);
+            case OWNER:
+                return cb.equal(item.get("owner").get("id"), userId);
+            default:
+                throw new IllegalArgumentException("Unknown role: " + role);
+        }
+    }
+
+    private Predicate afterPredicate(CriteriaBuilder cb, PageCursor after, Root<Booking> booking) {
+        if (after == null) {
+            return cb.conjunction();
+        }
+        Path<LocalDateTime> start = booking.get("start");
+        LocalDateTime afterStart = after.getRequiredTimestamp();
+        return cb.or(cb.lessThan(start, afterStart),
+                cb.and(cb.equal(start, afterStart), cb.greaterThan(booking.get("id"), after.getId())));
+    }
+
+    private Predicate statePredicate(CriteriaBuilder cb, State state, LocalDateTime now, Root<Booking> booking) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        switch (state) {
+            case ALL:
+                return cb.conjunction();
+            case PAST:
+                return cb.lessThan(end, now);
+            case CURRENT:
+                return cb.and(cb.lessThan(start, now), cb.greaterThan(end, now));
+            case FUTURE:
+                return cb.greaterThan(start, now);
+            case WAITING:
+                return cb.equal(booking.get("status"), BookingStatus.WAITING);
+            case REJECTED:
+                return cb.equal(booking.get("status"), BookingStatus.REJECTED);
+            default:
+                throw new IllegalArgumentException("Unknown state: " + state);
+        }
+    }
+}
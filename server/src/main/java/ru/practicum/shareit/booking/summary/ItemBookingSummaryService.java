@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingStartDto;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+@Service
+@RequiredArgsConstructor
+public class ItemBookingSummaryService {
+
+    private final ItemBookingSummaryStorage summaryStorage;
+    private final BookingStorage bookingStorage;
+    private final ItemStorage itemStorage;
+    private final TransactionTemplate transactionTemplate;
+
+    public ItemBookingSummary getSummary(long itemId) {
+        return getSummaries(List.of(itemId)).get(itemId);
+    }
+
+    public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        return summaryStorage.findAllById(itemIds).stream()
+                .map(summary -> isNextBookingStarted(summary, now) ? compute(summary.getItemId(), now) : summary)
+                .collect(toMap(ItemBookingSummary::getItemId, identity()));
+    }
+
+    @Transactional
+    public void refresh(long itemId) {
+        summaryStorage.save(compute(itemId, LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.roll-forward-delay:60000}")
+    public void rollForward() {
+        summaryStorage.findItemIdsWithStartedNextBooking(LocalDateTime.now())
+                .forEach(this::refreshLocked);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        summaryStorage.findItemIdsWithoutSummary()
+                .forEach(this::refreshLocked);
+    }
+
+    @EventListener
+    @Transactional
+    public void onUserDeleted(UserDeletedEvent event) {
+        summaryStorage.flush();
+        summaryStorage.findItemIdsByBookerId(event.getUserId())
+                .forEach(this::refresh);
+    }
+
+    private void refreshLocked(long itemId) {
+        transactionTemplate.executeWithoutResult(status -> itemStorage.findLockedById(itemId)
+                .ifPresent(item -> refresh(itemId)));
+    }
+
+    private ItemBookingSummary compute(long itemId, LocalDateTime now) {
+        BookingStartDto last = getFirst(bookingStorage.findLastBooking(itemId, BookingStatus.REJECTED, now,
+                OffsetPageRequest.of(0, 1)));
+        BookingStartDto next = getFirst(bookingStorage.findNextBooking(itemId, BookingStatus.REJECTED, now,
+                OffsetPageRequest.of(0, 1)));
+
+        return new ItemBookingSummary(
+                itemId,
+                last == null ? null : last.getId(),
+                last == null ? null : last.getBookerId(),
+                next == null ? null : next.getId(),
+                next == null ? null : next.getBookerId(),
+                next == null ? null : next.getStart()
+        );
+    }
+
+    private boolean isNextBookingStarted(ItemBookingSummary summary, LocalDateTime now) {
+        return summary.getNextStart() != null && !summary.getNextStart().isAfter(now);
+    }
+
+    private BookingStartDto getFirst(List<BookingStartDto> bookings) {
+        return bookings.isEmpty() ? null : bookings.get(0);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.summary;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemBookingSummaryStorage extends JpaRepository<ItemBookingSummary, Long> {
+
+    @Query("select s.itemId from ItemBookingSummary s where s.nextStart <= :now")
+    List<Long> findItemIdsWithStartedNextBooking(LocalDateTime now);
+
+    @Query("select s.itemId from ItemBookingSummary s where s.lastBookerId = :bookerId or s.nextBookerId = :bookerId")
+    List<Long> findItemIdsByBookerId(long bookerId);
+
+    @Query("select distinct b.item.id from Booking b " +
+            "where not exists (select s from ItemBookingSummary s where s.itemId = b.item.id)")
+    List<Long> findItemIdsWithoutSummary();
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.RequestItem;
+import ru.practicum.shareit.user.model.User;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(User.class, Item.class, RequestItem.class);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties, MeterRegistry registry) {
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("shareit:entities:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        CACHED_ENTITIES.forEach(entity -> cacheManager.createCache(entity.getName(), boundedRegion(properties)));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                boundedRegion(properties));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region());
+
+        cacheManager.getCacheNames()
+                .forEach(name -> JCacheMetrics.monitor(registry, cacheManager.getCache(name)));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernatePropertiesCustomizer(CacheManager entityCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> boundedRegion(EntityCacheProperties properties) {
+        CaffeineConfiguration<Object, Object> configuration = region();
+        configuration.setMaximumSize(OptionalLong.of(properties.getMaxSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(properties.getTtl().toNanos()));
+        return configuration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.entity-cache")
+public class EntityCacheProperties {
+
+    private Duration ttl = Duration.ofSeconds(30);
+    private long maxSize = 10_000;
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        Optional<ExecutorService> executor = newVirtualThreadPerTaskExecutor(Executors.class);
+        return protocolHandler -> executor.ifPresent(protocolHandler::setExecutor);
+    }
+
+    static Optional<ExecutorService> newVirtualThreadPerTaskExecutor(Class<?> executors) {
+        try {
+            ExecutorService executor = (ExecutorService) executors
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Запросы обрабатываются в виртуальных потоках");
+            return Optional.of(executor);
+        } catch (NoSuchMethodException e) {
+            log.warn("Виртуальные потоки недоступны в Java {}, используется стандартный пул потоков Tomcat",
+                    Runtime.version().feature());
+            return Optional.empty();
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            log.warn("Не удалось создать виртуальные потоки, используется стандартный пул потоков Tomcat", cause);
+            return Optional.empty();
+        }
+    }
+}
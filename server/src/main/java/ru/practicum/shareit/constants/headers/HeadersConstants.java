@@ -6,4 +6,5 @@ public class HeadersConstants {
     }
 
     public static final String USER_ID = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidBatchException extends RuntimeException {
+    public InvalidBatchException(final String message) {
+        super(message);
+    }
+}
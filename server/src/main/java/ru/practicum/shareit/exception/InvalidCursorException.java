@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(final String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,22 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchProperties;
+import ru.practicum.shareit.batch.BatchReader;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorResponse;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static ru.practicum.shareit.constants.headers.HeadersConstants.USER_ID;
@@ -18,6 +27,8 @@ import static ru.practicum.shareit.constants.headers.HeadersConstants.USER_ID;
 public class ItemController {
 
     private final ItemService itemService;
+    private final BatchReader batchReader;
+    private final BatchProperties batchProperties;
 
     @PostMapping
     public ItemDto addItem(@RequestHeader(USER_ID) long userId,
@@ -25,6 +36,13 @@ public class ItemController {
         return itemService.addItem(userId, itemDto);
     }
 
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<BatchResult<ItemDto>> addItems(@RequestHeader(USER_ID) long userId,
+                                               InputStream items) throws IOException {
+        return batchReader.readInChunks(items, ItemDto.class, batchProperties.getItemsMaxSize(),
+                chunk -> itemService.addItems(userId, chunk));
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader(USER_ID) long userId,
                               @PathVariable long itemId,
@@ -38,10 +56,14 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemResponseDto> getAllOwnersItem(@RequestHeader(USER_ID) long userId,
-                                                  @RequestParam(defaultValue = "0") int from,
-                                                  @RequestParam(defaultValue = "20") int size) {
-        return itemService.getAllOwnersItems(userId, from, size);
+    public ResponseEntity<List<ItemResponseDto>> getAllOwnersItem(@RequestHeader(USER_ID) long userId,
+                                                                  @RequestParam(defaultValue = "0") int from,
+                                                                  @RequestParam(defaultValue = "20") int size,
+                                                                  @RequestParam(required = false) String cursor) {
+        List<ItemResponseDto> items = cursor == null
+                ? itemService.getAllOwnersItems(userId, from, size)
+                : itemService.getAllOwnersItems(userId, PageCursor.decode(cursor), size);
+        return CursorResponse.withNextCursor(items, size, item -> PageCursor.of(item.getId()));
     }
 
     @DeleteMapping("/{itemId}")
@@ -56,6 +78,12 @@ public class ItemController {
         return itemService.searchItems(text, from, size);
     }
 
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(@RequestParam String prefix,
+                                         @RequestParam(defaultValue = "10") int size) {
+        return itemService.suggestItemNames(prefix, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentResponseDto addComment(@RequestBody CommentRequestDto comment,
                                          @RequestHeader(USER_ID) long id,
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemDeletedEvent {
+    private final long itemId;
+}
@@ -8,6 +8,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @UtilityClass
 public class CommentMapper {
@@ -26,7 +27,7 @@ public class CommentMapper {
                 commentRequestDto.getText(),
                 item,
                 author,
-                LocalDateTime.now()
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)
         );
     }
 }
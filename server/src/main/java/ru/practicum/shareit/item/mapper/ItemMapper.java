@@ -4,6 +4,7 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.IndexedItem;
 import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.user.model.User;
 
@@ -27,6 +28,28 @@ public class ItemMapper {
         );
     }
 
+    public ItemDto makeItemDto(IndexedItem item) {
+        return new ItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.isAvailable(),
+                item.getRequestId()
+        );
+    }
+
+    public IndexedItem makeIndexedItem(Item item) {
+        RequestItem requestItem = item.getRequestItem();
+        return new IndexedItem(
+                item.getId(),
+                item.getOwner().getId(),
+                item.getName(),
+                item.getDescription(),
+                item.isAvailable(),
+                requestItem == null ? null : requestItem.getId()
+        );
+    }
+
     public Item makeItem(ItemDto itemDto, User user, RequestItem requestItem) {
         return new Item(
                 itemDto.getId(),
@@ -53,14 +76,4 @@ public class ItemMapper {
                 comments
         );
     }
-
-    public ItemForRequestDto makeItemForRequestDto(Item item) {
-        return new ItemForRequestDto(
-                item.getId(),
-                item.getName(),
-                item.getDescription(),
-                item.isAvailable(),
-                item.getRequestItem().getId()
-        );
-    }
 }
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.user.model.User;
 
@@ -12,10 +15,23 @@ import javax.persistence.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "items")
+@SqlResultSetMapping(name = Item.ITEM_DTO_MAPPING, classes = @ConstructorResult(targetClass = ItemDto.class,
+        columns = {
+                @ColumnResult(name = "id", type = long.class),
+                @ColumnResult(name = "name"),
+                @ColumnResult(name = "description"),
+                @ColumnResult(name = "is_available", type = Boolean.class),
+                @ColumnResult(name = "request_id", type = Long.class)
+        }))
 public class Item {
+    public static final String ITEM_DTO_MAPPING = "ItemDto";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private long id;
     @Column(name = "name")
     private String name;
@@ -23,11 +39,11 @@ public class Item {
     private String description;
     @Column(name = "is_available")
     private boolean available;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     @ToString.Exclude
     private User owner;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     @ToString.Exclude
     private RequestItem requestItem;
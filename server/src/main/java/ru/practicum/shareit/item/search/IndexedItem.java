@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class IndexedItem {
+    private final long id;
+    private final long ownerId;
+    private final String name;
+    private final String description;
+    private final boolean available;
+    private final Long requestId;
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class IndexedItemSearch implements ItemSearch {
+
+    private final ItemStorage itemStorage;
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.rebuild(itemStorage.findAllIndexed());
+    }
+
+    @TransactionalEventListener
+    public void onItemSaved(ItemSavedEvent event) {
+        index.put(ItemMapper.makeIndexedItem(event.getItem()));
+    }
+
+    @TransactionalEventListener
+    public void onItemDeleted(ItemDeletedEvent event) {
+        index.remove(event.getItemId());
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        index.removeOwner(event.getUserId());
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Pageable page) {
+        return index.search(text, page.getOffset(), page.getPageSize()).stream()
+                .map(ItemMapper::makeItemDto)
+                .collect(toList());
+    }
+}
@@ -0,0 +1,178 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.toList;
+
+public class ItemSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final PostingList available = new PostingList();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void rebuild(Collection<IndexedItem> items) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+            available.clear();
+            items.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(IndexedItem item) {
+        lock.writeLock().lock();
+        try {
+            delete(item.getId());
+            add(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            delete(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeOwner(long ownerId) {
+        lock.writeLock().lock();
+        try {
+            entries.values().stream()
+                    .filter(entry -> entry.item.getOwnerId() == ownerId)
+                    .map(entry -> entry.item.getId())
+                    .collect(toList())
+                    .forEach(this::delete);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<IndexedItem> search(String text, long offset, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<IndexedItem> result = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            long skipped = 0;
+            PrimitiveIterator.OfLong candidates = candidates(query);
+            while (candidates.hasNext() && result.size() < limit) {
+                Entry entry = entries.get(candidates.nextLong());
+                if (entry.matches(query) && skipped++ >= offset) {
+                    result.add(entry.item);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PrimitiveIterator.OfLong candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return ids(available).iterator();
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return LongStream.empty().iterator();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList smallest = lists.get(0);
+        List<PostingList> others = lists.subList(1, lists.size());
+        LongPredicate inAll = id -> entries.get(id).item.isAvailable()
+                && others.stream().allMatch(list -> list.contains(id));
+        return ids(smallest)
+                .filter(inAll)
+                .iterator();
+    }
+
+    private void add(IndexedItem item) {
+        long id = item.getId();
+        Entry entry = new Entry(item);
+        entries.put(id, entry);
+        if (item.isAvailable()) {
+            available.add(id);
+        }
+        for (String gram : entry.grams()) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private void delete(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        available.remove(id);
+        for (String gram : entry.grams()) {
+            PostingList list = postings.get(gram);
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static LongStream ids(PostingList list) {
+        return IntStream.range(0, list.size()).mapToLong(list::get);
+    }
+
+    private static Set<String> grams(String... values) {
+        Set<String> grams = new HashSet<>();
+        for (String value : values) {
+            for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+                grams.add(value.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+
+    private static class Entry {
+        private final IndexedItem item;
+        private final String name;
+        private final String description;
+
+        Entry(IndexedItem item) {
+            this.item = item;
+            this.name = item.getName().toLowerCase(Locale.ROOT);
+            this.description = item.getDescription().toLowerCase(Locale.ROOT);
+        }
+
+        Set<String> grams() {
+            return ItemSearchIndex.grams(name, description);
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.storage.ItemStorage;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like")
+public class LikeItemSearch implements ItemSearch {
+
+    private final ItemStorage itemStorage;
+
+    @Override
+    public List<ItemDto> search(String text, Pageable page) {
+        return itemStorage.searchItem(text, page);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram", matchIfMissing = true)
+public class TrigramItemSearch implements ItemSearch {
+
+    private static final String SEARCH_QUERY = "select i.id, i.name, i.description, i.is_available, i.request_id from items i " +
+            "where i.is_available = true " +
+            "and (i.name ilike concat('%', :text, '%') or i.description ilike concat('%', :text, '%')) " +
+            "order by greatest(similarity(i.name, :text), similarity(i.description, :text)) desc, i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ItemDto> search(String text, Pageable page) {
+        return entityManager.createNativeQuery(SEARCH_QUERY, Item.ITEM_DTO_MAPPING)
+                .setParameter("text", text)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+}
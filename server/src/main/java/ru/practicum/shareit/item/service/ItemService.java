@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.List;
 
@@ -11,15 +13,21 @@ public interface ItemService {
 
     ItemDto addItem(long ownerId, ItemDto itemDto);
 
+    List<BatchResult<ItemDto>> addItems(long ownerId, List<ItemDto> itemDtos);
+
     ItemDto updateItem(long ownerId, long itemId, ItemDto itemDto);
 
     ItemResponseDto getItemDto(long userId, long itemId);
 
     List<ItemResponseDto> getAllOwnersItems(long ownerId, int from, int size);
 
+    List<ItemResponseDto> getAllOwnersItems(long ownerId, PageCursor after, int size);
+
     void deleteItem(long ownerId, long itemId);
 
     List<ItemDto> searchItems(String text, int from, int size);
 
+    List<String> suggestItemNames(String prefix, int size);
+
     CommentResponseDto addComment(CommentRequestDto commentRequestDto, long userId, long itemId);
 }
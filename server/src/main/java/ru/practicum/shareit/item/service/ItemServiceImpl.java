@@ -1,39 +1,51 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.booking.summary.ItemBookingSummary;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.IndexedItem;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.item.storage.CommentStorage;
 import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.item.suggest.ItemNameSuggester;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.request.storage.RequestItemStorage;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.registry.UserRegistry;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static ru.practicum.shareit.constants.error.ErrorConstants.*;
 import static ru.practicum.shareit.constants.sort.SortConstants.SORT_BY_CREATED_DESC;
-import static ru.practicum.shareit.constants.sort.SortConstants.SORT_BY_START_DESC;
 
 @Service
 @RequiredArgsConstructor
@@ -41,15 +53,19 @@ import static ru.practicum.shareit.constants.sort.SortConstants.SORT_BY_START_DE
 public class ItemServiceImpl implements ItemService {
 
     private final ItemStorage itemStorage;
-    private final UserStorage userStorage;
+    private final UserRegistry userRegistry;
     private final BookingStorage bookingStorage;
     private final RequestItemStorage requestItemStorage;
     private final CommentStorage commentStorage;
+    private final ItemSearch itemSearch;
+    private final ItemBookingSummaryService summaryService;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public ItemDto addItem(long ownerId, ItemDto itemDto) {
-        User user = getUser(ownerId);
+        User user = userRegistry.getUser(ownerId);
         Long requestId = itemDto.getRequestId();
         RequestItem requestItem = null;
 
@@ -57,19 +73,49 @@ public class ItemServiceImpl implements ItemService {
             requestItem = getRequestItem(requestId);
         }
 
-        Item item = ItemMapper.makeItem(itemDto, user, requestItem);
-        return ItemMapper.makeItemDto(itemStorage.save(item));
+        Item item = itemStorage.save(ItemMapper.makeItem(itemDto, user, requestItem));
+        eventPublisher.publishEvent(new ItemSavedEvent(item));
+        return ItemMapper.makeItemDto(item);
+    }
+
+    @Override
+    @Transactional
+    public List<BatchResult<ItemDto>> addItems(long ownerId, List<ItemDto> itemDtos) {
+        User user = userRegistry.getUser(ownerId);
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        Map<Long, RequestItem> requestItems = requestItemStorage.findAllById(requestIds).stream()
+                .collect(toMap(RequestItem::getId, Function.identity()));
+
+        List<BatchResult<ItemDto>> results = new ArrayList<>(itemDtos.size());
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            Long requestId = itemDto.getRequestId();
+            if (requestId != null && !requestItems.containsKey(requestId)) {
+                results.add(BatchResult.failed(i, WRONG_REQUEST_ID));
+                continue;
+            }
+            Item item = itemStorage.save(ItemMapper.makeItem(itemDto, user,
+                    requestId == null ? null : requestItems.get(requestId)));
+            eventPublisher.publishEvent(new ItemSavedEvent(item));
+            results.add(BatchResult.ok(i, ItemMapper.makeItemDto(item)));
+        }
+        return results;
     }
 
     @Override
     @Transactional
     public ItemDto updateItem(long ownerId, long itemId, ItemDto itemDto) {
         Item oldItem = getItem(itemId);
-        User user = getUser(ownerId);
+        User user = userRegistry.getUser(ownerId);
         itemDto.setId(itemId);
 
         if (oldItem.getOwner().getId() == ownerId) {
-            return ItemMapper.makeItemDto(itemStorage.save(updateItemFields(itemDto, oldItem, user)));
+            Item item = itemStorage.save(updateItemFields(itemDto, oldItem, user));
+            eventPublisher.publishEvent(new ItemSavedEvent(item));
+            return ItemMapper.makeItemDto(item);
         } else {
             throw new EntityNotFoundException("Пользователь не может вносить изменения в предметы," +
                     " которые были добавлены другим пользователем");
@@ -78,21 +124,16 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemResponseDto getItemDto(long userId, long itemId) {
-        getUser(userId);
-        Item item = getItem(itemId);
+        userRegistry.checkExists(userId);
+        IndexedItem item = itemStorage.findIndexedById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException(WRONG_ITEM_ID));
         ItemDto itemDto = ItemMapper.makeItemDto(item);
-        List<CommentResponseDto> commentsDto = commentStorage.findCommentsByItemId(itemId, SORT_BY_CREATED_DESC)
-                .stream()
-                .map(CommentMapper::makeCommentResponseDto)
-                .collect(toList());
+        List<CommentResponseDto> commentsDto = commentStorage.findCommentDtosByItemId(itemId, SORT_BY_CREATED_DESC);
 
-        if (item.getOwner().getId() == userId) {
-            List<Booking> allOwnerBookings = bookingStorage.findBookingsByItemIdAndStatusNot(itemId,
-                    SORT_BY_START_DESC,
-                    BookingStatus.REJECTED);
-
-            BookingShortDto lastBooking = getLastBooking(allOwnerBookings);
-            BookingShortDto nextBooking = getNextBooking(allOwnerBookings);
+        if (item.getOwnerId() == userId) {
+            ItemBookingSummary summary = summaryService.getSummary(itemId);
+            BookingShortDto lastBooking = BookingMapper.makeLastBookingShortDto(summary);
+            BookingShortDto nextBooking = BookingMapper.makeNextBookingShortDto(summary);
 
             return ItemMapper.makeItemForOwnerDto(itemDto, lastBooking, nextBooking, commentsDto);
         } else {
@@ -102,8 +143,17 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemResponseDto> getAllOwnersItems(long ownerId, int from, int size) {
-        getUser(ownerId);
-        List<Item> items = itemStorage.findByOwnerIdOrderById(ownerId, PageRequest.of(from / size, size));
+        userRegistry.checkExists(ownerId);
+        List<ItemDto> items = itemStorage.findItemDtosByOwnerId(ownerId, OffsetPageRequest.of(from, size));
+
+        return makeListItemDto(items);
+    }
+
+    @Override
+    public List<ItemResponseDto> getAllOwnersItems(long ownerId, PageCursor after, int size) {
+        userRegistry.checkExists(ownerId);
+        List<ItemDto> items = itemStorage.findItemDtosByOwnerIdAfter(ownerId, after.getId(),
+                OffsetPageRequest.of(0, size));
 
         return makeListItemDto(items);
     }
@@ -112,9 +162,10 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public void deleteItem(long ownerId, long itemId) {
         Item item = getItem(itemId);
-        getUser(ownerId);
+        userRegistry.checkExists(ownerId);
         if (item.getOwner().getId() == ownerId) {
             itemStorage.deleteById(itemId);
+            eventPublisher.publishEvent(new ItemDeletedEvent(itemId));
         } else {
             throw new EntityNotFoundException("Пользователь не может удалять предметы," +
                     " которые были добавлены другим пользователем");
@@ -127,15 +178,22 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
 
-        return itemStorage.searchItem(text, PageRequest.of(from / size, size)).stream()
-                .map(ItemMapper::makeItemDto)
-                .collect(toList());
+        return itemSearch.search(text, OffsetPageRequest.of(from, size));
+    }
+
+    @Override
+    public List<String> suggestItemNames(String prefix, int size) {
+        if (prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        return itemNameSuggester.suggest(prefix, size);
     }
 
     @Override
     @Transactional
     public CommentResponseDto addComment(CommentRequestDto commentRequestDto, long userId, long itemId) {
-        User author = getUser(userId);
+        User author = userRegistry.getUser(userId);
         Item item = getItem(itemId);
 
         boolean isBookingExists = bookingStorage.existsByItemIdAndEndBeforeAndBookerIdIs(itemId,
@@ -166,11 +224,6 @@ public class ItemServiceImpl implements ItemService {
         return oldItem;
     }
 
-    private User getUser(long userId) {
-        return userStorage.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(WRONG_USER_ID));
-    }
-
     private Item getItem(long itemId) {
         return itemStorage.findById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException(WRONG_ITEM_ID));
@@ -181,51 +234,25 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new EntityNotFoundException(WRONG_REQUEST_ID));
     }
 
-    private BookingShortDto getLastBooking(List<Booking> bookings) {
-        if (!bookings.isEmpty()) {
-            return bookings.stream()
-                    .filter(booking -> !booking.getStart().isAfter(LocalDateTime.now()))
-                    .findFirst()
-                    .map(BookingMapper::makeBookingShortDto)
-                    .orElse(null);
-        } else {
-            return null;
-        }
-    }
-
-    private BookingShortDto getNextBooking(List<Booking> bookings) {
-        if (!bookings.isEmpty()) {
-            return bookings.stream()
-                    .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                    .reduce((first, second) -> second)
-                    .map(BookingMapper::makeBookingShortDto)
-                    .orElse(null);
-        } else {
-            return null;
-        }
-    }
-
-    private List<ItemResponseDto> makeListItemDto(List<Item> items) {
-        Map<Item, List<Comment>> commentsByItem = commentStorage.findByItemIn(items, SORT_BY_CREATED_DESC)
+    private List<ItemResponseDto> makeListItemDto(List<ItemDto> items) {
+        List<Long> itemIds = items.stream()
+                .map(ItemDto::getId)
+                .collect(toList());
+        Map<Long, List<CommentResponseDto>> commentsByItemId = commentStorage.findCommentDtosByItemIdIn(itemIds,
+                        SORT_BY_CREATED_DESC)
                 .stream()
-                .collect(groupingBy(Comment::getItem, toList()));
+                .collect(groupingBy(ItemCommentDto::getItemId, mapping(ItemCommentDto::getComment, toList())));
 
-        Map<Item, List<Booking>> bookingsByItem = bookingStorage.findByItemInAndStatusNot(items,
-                        SORT_BY_START_DESC,
-                        BookingStatus.REJECTED)
-                .stream()
-                .collect(groupingBy(Booking::getItem, toList()));
+        Map<Long, ItemBookingSummary> summariesByItemId = summaryService.getSummaries(itemIds);
 
         List<ItemResponseDto> itemForOwnerDtoList = new LinkedList<>();
 
-        for (Item item : items) {
+        for (ItemDto item : items) {
             itemForOwnerDtoList.add(ItemMapper.makeItemForOwnerDto(
-                    ItemMapper.makeItemDto(item),
-                    getLastBooking(bookingsByItem.getOrDefault(item, Collections.emptyList())),
-                    getNextBooking(bookingsByItem.getOrDefault(item, Collections.emptyList())),
-                    commentsByItem.getOrDefault(item, Collections.emptyList()).stream()
-                            .map(CommentMapper::makeCommentResponseDto)
-                            .collect(toList())
+                    item,
+                    BookingMapper.makeLastBookingShortDto(summariesByItemId.get(item.getId())),
+                    BookingMapper.makeNextBookingShortDto(summariesByItemId.get(item.getId())),
+                    commentsByItemId.getOrDefault(item.getId(), Collections.emptyList())
             ));
         }
         return itemForOwnerDtoList;
@@ -4,16 +4,21 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.comment.Comment;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentStorage extends JpaRepository<Comment, Long> {
 
-    @Query("select c " +
-            "from Comment c " +
+    @Query("select new ru.practicum.shareit.item.dto.CommentResponseDto(c.id, c.text, a.name, c.created) " +
+            "from Comment c join c.author a " +
             "where c.item.id = :itemId ")
-    List<Comment> findCommentsByItemId(long itemId, Sort sort);
+    List<CommentResponseDto> findCommentDtosByItemId(long itemId, Sort sort);
 
-    List<Comment> findByItemIn(List<Item> items, Sort sort);
+    @Query("select new ru.practicum.shareit.item.dto.ItemCommentDto(c.item.id, c.id, c.text, a.name, c.created) " +
+            "from Comment c join c.author a " +
+            "where c.item.id in :itemIds ")
+    List<ItemCommentDto> findCommentDtosByItemIdIn(Collection<Long> itemIds, Sort sort);
 }
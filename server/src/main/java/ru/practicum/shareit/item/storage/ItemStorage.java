@@ -1,22 +1,72 @@
 package ru.practicum.shareit.item.storage;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.request.model.RequestItem;
+import ru.practicum.shareit.item.search.IndexedItem;
+import ru.practicum.shareit.item.suggest.ItemName;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemStorage extends JpaRepository<Item, Long> {
 
-    List<Item> findByOwnerIdOrderById(Long itemId, PageRequest pr);
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.requestItem.id) " +
+            "from Item i " +
+            "where i.owner.id = :ownerId " +
+            "order by i.id")
+    List<ItemDto> findItemDtosByOwnerId(long ownerId, Pageable page);
 
-    @Query("select i from Item i " +
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.requestItem.id) " +
+            "from Item i " +
+            "where i.owner.id = :ownerId and i.id > :id " +
+            "order by i.id")
+    List<ItemDto> findItemDtosByOwnerIdAfter(long ownerId, long id, Pageable page);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.requestItem.id) " +
+            "from Item i " +
             "where (lower(i.name) like lower(concat('%', ?1, '%')) " +
             "or lower(i.description) like lower(concat('%', ?1, '%'))) " +
             "and i.available = true")
-    List<Item> searchItem(String text, PageRequest pr);
+    List<ItemDto> searchItem(String text, Pageable page);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemForRequestDto(i.id, i.name, i.description, " +
+            "i.available, r.id) " +
+            "from Item i join i.requestItem r " +
+            "where r.id in :requestIds " +
+            "order by i.id")
+    List<ItemForRequestDto> findItemsForRequests(Collection<Long> requestIds);
+
+    @Query("select new ru.practicum.shareit.item.search.IndexedItem(i.id, i.owner.id, i.name, i.description, " +
+            "i.available, r.id) " +
+            "from Item i left join i.requestItem r " +
+            "where i.id = :itemId")
+    Optional<IndexedItem> findIndexedById(long itemId);
+
+    @Query("select new ru.practicum.shareit.item.search.IndexedItem(i.id, i.owner.id, i.name, i.description, " +
+            "i.available, r.id) " +
+            "from Item i left join i.requestItem r")
+    List<IndexedItem> findAllIndexed();
+
+    @Query("select new ru.practicum.shareit.item.suggest.ItemName(i.id, i.owner.id, i.name) " +
+            "from Item i " +
+            "where i.available = true")
+    List<ItemName> findAllAvailableNames();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :itemId")
+    Optional<Item> findLockedById(long itemId);
 
-    List<Item> findByRequestItemInOrderById(List<RequestItem> requests);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :itemIds order by i.id")
+    List<Item> findLockedByIdIn(Collection<Long> itemIds);
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.suggest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemName {
+    private final long id;
+    private final long ownerId;
+    private final String name;
+}
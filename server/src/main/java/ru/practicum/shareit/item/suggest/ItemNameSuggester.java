@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.suggest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.stream.Collectors.toList;
+
+@Component
+@RequiredArgsConstructor
+public class ItemNameSuggester {
+
+    private final ItemStorage itemStorage;
+    private final Map<Long, ItemName> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ItemNameTrie trie = new ItemNameTrie();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ItemName> names = itemStorage.findAllAvailableNames();
+
+        lock.writeLock().lock();
+        try {
+            items.clear();
+            trie = new ItemNameTrie();
+            names.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemSaved(ItemSavedEvent event) {
+        Item item = event.getItem();
+
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            if (item.isAvailable()) {
+                add(new ItemName(item.getId(), item.getOwner().getId(), item.getName()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemDeleted(ItemDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getItemId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            items.values().stream()
+                    .filter(item -> item.getOwnerId() == event.getUserId())
+                    .map(ItemName::getId)
+                    .collect(toList())
+                    .forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return trie.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(ItemName item) {
+        items.put(item.getId(), item);
+        trie.add(item.getId(), item.getName());
+    }
+
+    private void remove(long itemId) {
+        ItemName item = items.remove(itemId);
+        if (item != null) {
+            trie.remove(itemId, item.getName());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package ru.practicum.shareit.item.suggest;
+
+import java.util.*;
+
+public class ItemNameTrie {
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingInt((Candidate candidate) -> candidate.score).reversed()
+            .thenComparing(candidate -> !candidate.terminal)
+            .thenComparing(candidate -> candidate.terminal ? candidate.node.name() : "");
+
+    private final Node root = new Node("");
+
+    public void add(long itemId, String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < key.length()) {
+            char next = key.charAt(position);
+            Node child = node.children.get(next);
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.children.put(next, child);
+            } else {
+                int common = commonPrefixLength(child.edge, key, position);
+                if (common < child.edge.length()) {
+                    child = split(node, child, common);
+                }
+            }
+            node = child;
+            path.add(node);
+            position += node.edge.length();
+        }
+
+        node.names.putIfAbsent(itemId, name);
+        updateBest(path);
+    }
+
+    public void remove(long itemId, String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null || !key.startsWith(child.edge, position)) {
+                return;
+            }
+            node = child;
+            path.add(node);
+            position += node.edge.length();
+        }
+        if (node.names.remove(itemId) == null) {
+            return;
+        }
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            compact(path.get(i - 1), path.get(i));
+        }
+        updateBest(path);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        Node node = root;
+        int position = 0;
+
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            int common = commonPrefixLength(child.edge, key, position);
+            if (position + common < key.length() && common < child.edge.length()) {
+                return Collections.emptyList();
+            }
+            node = child;
+            position += common;
+        }
+
+        List<String> result = new ArrayList<>();
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.add(new Candidate(node, node.best, false));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.terminal) {
+                result.add(candidate.node.name());
+                continue;
+            }
+            if (!candidate.node.names.isEmpty()) {
+                queue.add(new Candidate(candidate.node, candidate.node.names.size(), true));
+            }
+            for (Node child : candidate.node.children.values()) {
+                queue.add(new Candidate(child, child.best, false));
+            }
+        }
+        return result;
+    }
+
+    private Node split(Node parent, Node child, int length) {
+        Node middle = new Node(child.edge.substring(0, length));
+        child.edge = child.edge.substring(length);
+        middle.children.put(child.edge.charAt(0), child);
+        middle.best = child.best;
+        parent.children.put(middle.edge.charAt(0), middle);
+        return middle;
+    }
+
+    private void compact(Node parent, Node node) {
+        if (!node.names.isEmpty()) {
+            return;
+        }
+        if (node.children.isEmpty()) {
+            parent.children.remove(node.edge.charAt(0));
+        } else if (node.children.size() == 1) {
+            Node child = node.children.values().iterator().next();
+            node.edge = node.edge + child.edge;
+            node.children = child.children;
+            node.names = child.names;
+        }
+    }
+
+    private void updateBest(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            int best = node.names.size();
+            for (Node child : node.children.values()) {
+                best = Math.max(best, child.best);
+            }
+            node.best = best;
+        }
+    }
+
+    private static int commonPrefixLength(String edge, String key, int position) {
+        int length = 0;
+        while (length < edge.length() && position + length < key.length()
+                && edge.charAt(length) == key.charAt(position + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static class Node {
+        private String edge;
+        private Map<Character, Node> children = new HashMap<>();
+        private Map<Long, String> names = new LinkedHashMap<>();
+        private int best;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        String name() {
+            return names.values().iterator().next();
+        }
+    }
+
+    private static class Candidate {
+        private final Node node;
+        private final int score;
+        private final boolean terminal;
+
+        Candidate(Node node, int score, boolean terminal) {
+            this.node = node;
+            this.score = score;
+            this.terminal = terminal;
+        }
+    }
+}
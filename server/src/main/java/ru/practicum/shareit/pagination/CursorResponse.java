@@ -0,0 +1,22 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.constants.headers.HeadersConstants.NEXT_CURSOR;
+
+@UtilityClass
+public class CursorResponse {
+
+    public <T> ResponseEntity<List<T>> withNextCursor(List<T> page, int size, Function<T, PageCursor> cursorOf) {
+        if (page.isEmpty() || page.size() < size) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR, cursorOf.apply(page.get(page.size() - 1)).encode())
+                .body(page);
+    }
+}
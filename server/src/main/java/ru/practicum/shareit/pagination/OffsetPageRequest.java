@@ -0,0 +1,45 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+
+public class OffsetPageRequest extends PageRequest {
+
+    private final long offset;
+
+    protected OffsetPageRequest(int from, int size, Sort sort) {
+        super(from / size, size, sort);
+        this.offset = from;
+    }
+
+    public static OffsetPageRequest of(int from, int size) {
+        return of(from, size, Sort.unsorted());
+    }
+
+    public static OffsetPageRequest of(int from, int size, Sort sort) {
+        return new OffsetPageRequest(from, size, sort);
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OffsetPageRequest)) {
+            return false;
+        }
+        return super.equals(o) && offset == ((OffsetPageRequest) o).offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), offset);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String WRONG_CURSOR = "Некорректный курсор страницы";
+
+    LocalDateTime timestamp;
+    long id;
+
+    public static PageCursor of(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime timestamp, long id) {
+        return new PageCursor(toStoredPrecision(timestamp), id);
+    }
+
+    private static LocalDateTime toStoredPrecision(LocalDateTime timestamp) {
+        return timestamp == null ? null : timestamp.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(WRONG_CURSOR);
+            }
+            String timestamp = value.substring(0, separator);
+            return PageCursor.of(timestamp.isEmpty() ? null : LocalDateTime.parse(timestamp),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(WRONG_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String value = (timestamp == null ? "" : timestamp.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getRequiredTimestamp() {
+        if (timestamp == null) {
+            throw new InvalidCursorException(WRONG_CURSOR);
+        }
+        return timestamp;
+    }
+}
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.CursorResponse;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemResponseDto;
 import ru.practicum.shareit.request.dto.RequestItemShortResponseDto;
@@ -30,10 +33,17 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<RequestItemResponseDto> getAllUsersRequests(@RequestHeader(USER_ID) long userId,
-                                                            @RequestParam(defaultValue = "0") int from,
-                                                            @RequestParam(defaultValue = "20") int size) {
-        return itemRequestService.getAllUserRequests(userId, from, size);
+    public ResponseEntity<List<RequestItemResponseDto>> getAllUsersRequests(@RequestHeader(USER_ID) long userId,
+                                                                            @RequestParam(defaultValue = "0")
+                                                                            int from,
+                                                                            @RequestParam(defaultValue = "20")
+                                                                            int size,
+                                                                            @RequestParam(required = false)
+                                                                            String cursor) {
+        List<RequestItemResponseDto> requests = cursor == null
+                ? itemRequestService.getAllUserRequests(userId, from, size)
+                : itemRequestService.getAllUserRequests(userId, PageCursor.decode(cursor), size);
+        return CursorResponse.withNextCursor(requests, size, r -> PageCursor.of(r.getCreated(), r.getId()));
     }
 
     @GetMapping("/{requestId}")
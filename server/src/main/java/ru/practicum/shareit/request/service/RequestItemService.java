@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemResponseDto;
 import ru.practicum.shareit.request.dto.RequestItemShortResponseDto;
@@ -13,5 +14,7 @@ public interface RequestItemService {
 
     List<RequestItemResponseDto> getAllUserRequests(long userId, int from, int size);
 
+    List<RequestItemResponseDto> getAllUserRequests(long userId, PageCursor after, int size);
+
     RequestItemResponseDto getRequestItemResponseDto(long userId, long requestId);
 }
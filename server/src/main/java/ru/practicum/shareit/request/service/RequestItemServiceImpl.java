@@ -1,13 +1,13 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EntityNotFoundException;
-import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemResponseDto;
 import ru.practicum.shareit.request.dto.RequestItemShortResponseDto;
@@ -15,7 +15,7 @@ import ru.practicum.shareit.request.mapper.RequestItemMapper;
 import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.request.storage.RequestItemStorage;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.registry.UserRegistry;
 
 import java.util.Collections;
 import java.util.LinkedList;
@@ -25,8 +25,7 @@ import java.util.Map;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_REQUEST_ID;
-import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_USER_ID;
-import static ru.practicum.shareit.constants.sort.SortConstants.SORT_BY_CREATED_DESC;
+import static ru.practicum.shareit.constants.sort.SortConstants.SORT_BY_CREATED_AND_ID_DESC;
 
 @Service
 @RequiredArgsConstructor
@@ -34,35 +33,42 @@ import static ru.practicum.shareit.constants.sort.SortConstants.SORT_BY_CREATED_
 public class RequestItemServiceImpl implements RequestItemService {
 
     private final RequestItemStorage requestItemStorage;
-    private final UserStorage userStorage;
+    private final UserRegistry userRegistry;
     private final ItemStorage itemStorage;
 
     @Override
     @Transactional
     public RequestItemShortResponseDto addRequest(long userId, RequestItemRequestDto requestDto) {
-        getUser(userId);
-        RequestItem requestItem = RequestItemMapper.makeRequestItem(requestDto, getUser(userId));
+        RequestItem requestItem = RequestItemMapper.makeRequestItem(requestDto, userRegistry.getUser(userId));
         return RequestItemMapper.makeShortResponse(requestItemStorage.save(requestItem));
     }
 
     @Override
     public List<RequestItemResponseDto> getMyRequests(long userId) {
-        getUser(userId);
+        userRegistry.checkExists(userId);
         List<RequestItem> requests = requestItemStorage.findByRequestorIdOrderByCreatedDesc(userId);
         return makeResponse(requests);
     }
 
     @Override
     public List<RequestItemResponseDto> getAllUserRequests(long userId, int from, int size) {
-        getUser(userId);
+        userRegistry.checkExists(userId);
         List<RequestItem> requestItems = requestItemStorage.findByRequestorIdNotOrderByCreatedDesc(userId,
-                PageRequest.of(from / size, size, SORT_BY_CREATED_DESC)).getContent();
+                OffsetPageRequest.of(from, size, SORT_BY_CREATED_AND_ID_DESC)).getContent();
+        return makeResponse(requestItems);
+    }
+
+    @Override
+    public List<RequestItemResponseDto> getAllUserRequests(long userId, PageCursor after, int size) {
+        userRegistry.checkExists(userId);
+        List<RequestItem> requestItems = requestItemStorage.findOtherUsersRequestsAfter(userId,
+                after.getRequiredTimestamp(), after.getId(), OffsetPageRequest.of(0, size));
         return makeResponse(requestItems);
     }
 
     @Override
     public RequestItemResponseDto getRequestItemResponseDto(long userId, long requestId) {
-        getUser(userId);
+        userRegistry.checkExists(userId);
         RequestItem requestItem = getRequest(requestId);
         return makeResponse(List.of(requestItem)).get(0);
     }
@@ -72,24 +78,19 @@ public class RequestItemServiceImpl implements RequestItemService {
                 .orElseThrow(() -> new EntityNotFoundException(WRONG_REQUEST_ID));
     }
 
-    private User getUser(long id) {
-        return userStorage.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(WRONG_USER_ID));
-    }
-
     private List<RequestItemResponseDto> makeResponse(List<RequestItem> requestItems) {
-        Map<RequestItem, List<Item>> itemsByRequests = itemStorage.findByRequestItemInOrderById(requestItems)
+        Map<Long, List<ItemForRequestDto>> itemsByRequestId = itemStorage.findItemsForRequests(requestItems.stream()
+                        .map(RequestItem::getId)
+                        .collect(toList()))
                 .stream()
-                .collect(groupingBy(Item::getRequestItem, toList()));
+                .collect(groupingBy(ItemForRequestDto::getRequestId, toList()));
 
         List<RequestItemResponseDto> response = new LinkedList<>();
 
         for (RequestItem requestItem : requestItems) {
             response.add(RequestItemMapper.makeMyResponseDto(
                     requestItem,
-                    itemsByRequests.getOrDefault(requestItem, Collections.emptyList()).stream()
-                            .map(ItemMapper::makeItemForRequestDto)
-                            .collect(toList()))
+                    itemsByRequestId.getOrDefault(requestItem.getId(), Collections.emptyList()))
             );
         }
         return response;
@@ -3,13 +3,22 @@ package ru.practicum.shareit.request.storage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.RequestItem;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestItemStorage extends JpaRepository<RequestItem, Long> {
 
+    @Query("select r from RequestItem r where r.requestor.id = :requestorId order by r.created desc")
     List<RequestItem> findByRequestorIdOrderByCreatedDesc(long requestorId);
 
     Page<RequestItem> findByRequestorIdNotOrderByCreatedDesc(long userId, Pageable page);
+
+    @Query("select r from RequestItem r " +
+            "where r.requestor.id <> :userId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id)) " +
+            "order by r.created desc, r.id desc")
+    List<RequestItem> findOtherUsersRequestsAfter(long userId, LocalDateTime created, long id, Pageable page);
 }
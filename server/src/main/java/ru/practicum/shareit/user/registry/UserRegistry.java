@@ -0,0 +1,59 @@
+package ru.practicum.shareit.user.registry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_USER_ID;
+
+@Component
+@EnableConfigurationProperties(UserRegistryProperties.class)
+public class UserRegistry {
+
+    private final UserStorage userStorage;
+    private final Cache<Long, Boolean> existingUserIds;
+
+    public UserRegistry(UserStorage userStorage, UserRegistryProperties properties) {
+        this.userStorage = userStorage;
+        this.existingUserIds = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * Only existing ids are remembered, so a 404 is always confirmed by the database. A user deleted
+     * on another instance passes the check for at most shareit.user-registry.ttl.
+     */
+    public void checkExists(long userId) {
+        if (existingUserIds.get(userId, id -> userStorage.existsById(id) ? Boolean.TRUE : null) == null) {
+            throw new EntityNotFoundException(WRONG_USER_ID);
+        }
+    }
+
+    public User getUser(long userId) {
+        return userStorage.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException(WRONG_USER_ID));
+    }
+
+    /**
+     * Called inside the deleting transaction so that it no longer sees the user, and again after the commit
+     * to drop an entry a concurrent check may have put back from the not yet committed state.
+     */
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        existingUserIds.invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener
+    public void afterUserDeleted(UserDeletedEvent event) {
+        existingUserIds.invalidate(event.getUserId());
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.user.registry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.user-registry")
+public class UserRegistryProperties {
+
+    private Duration ttl = Duration.ofSeconds(5);
+    private long maxSize = 100_000;
+}
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
@@ -20,12 +22,12 @@ import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_USER_ID;
 public class UserServiceImpl implements UserService {
 
     private final UserStorage userStorage;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public UserDto addUser(UserDto userDto) {
-        User user = userStorage.save(UserMapper.makeUser(userDto));
-        return UserMapper.makeUserDto(user);
+        return UserMapper.makeUserDto(userStorage.save(UserMapper.makeUser(userDto)));
     }
 
     @Override
@@ -54,6 +56,7 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteUser(long id) {
         userStorage.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
     }
 
     private User updateUserFields(UserDto userDto, User oldUser) {
@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, requests, items, bookings, comments CASCADE;
-
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
     name VARCHAR(50) NOT NULL,
@@ -39,5 +37,3 @@ CREATE TABLE IF NOT EXISTS comments (
     author_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL
 );
-
-
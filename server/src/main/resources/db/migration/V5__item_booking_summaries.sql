@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS item_booking_summaries (
+    item_id BIGINT PRIMARY KEY REFERENCES items(id) ON DELETE CASCADE,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start_date TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS item_booking_summaries_next_start_date_idx ON item_booking_summaries (next_start_date);
+CREATE INDEX IF NOT EXISTS item_booking_summaries_last_booker_id_idx ON item_booking_summaries (last_booker_id);
+CREATE INDEX IF NOT EXISTS item_booking_summaries_next_booker_id_idx ON item_booking_summaries (next_booker_id);
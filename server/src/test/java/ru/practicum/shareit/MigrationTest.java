@@ -0,0 +1,93 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Slf4j
+class MigrationTest {
+
+    @Test
+    void migrateAppliesOnlyPendingMigrations() {
+        DataSource dataSource = dataSource("migration_fresh");
+        Flyway flyway = flyway(dataSource);
+        int pending = flyway.info().pending().length;
+
+        long coldStart = System.nanoTime();
+        MigrateResult cold = flyway.migrate();
+        long coldMillis = (System.nanoTime() - coldStart) / 1_000_000;
+
+        new JdbcTemplate(dataSource).update("insert into users (name, email) values ('user', 'user@mail.ru')");
+
+        long noOpStart = System.nanoTime();
+        MigrateResult noOp = flyway.migrate();
+        long noOpMillis = (System.nanoTime() - noOpStart) / 1_000_000;
+
+        log.info("Cold schema init: {} ms, no-op migration: {} ms", coldMillis, noOpMillis);
+        assertThat(cold.migrationsExecuted, equalTo(pending));
+        assertThat(noOp.migrationsExecuted, equalTo(0));
+        assertThat(countUsers(dataSource), equalTo(1));
+        flyway.validate();
+    }
+
+    @Test
+    void migrateBaselinesSchemaCreatedBeforeMigrations() {
+        DataSource dataSource = dataSource("migration_legacy");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__init.sql")).execute(dataSource);
+        new JdbcTemplate(dataSource).update("insert into users (name, email) values ('user', 'user@mail.ru')");
+
+        Flyway flyway = flyway(dataSource);
+        int pending = flyway.info().pending().length;
+
+        MigrateResult result = flyway.migrate();
+
+        assertThat(result.migrationsExecuted, equalTo(pending - 1));
+        assertThat(result.migrations.get(0).version, equalTo("2"));
+        assertThat(countUsers(dataSource), equalTo(1));
+    }
+
+    @Test
+    void idSequencesStartAfterExistingRows() {
+        DataSource dataSource = dataSource("migration_sequences");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__init.sql")).execute(dataSource);
+        new JdbcTemplate(dataSource).update("insert into users (name, email) values ('user', 'user@mail.ru')");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long nextId = jdbcTemplate.queryForObject("select next value for users_seq", Long.class);
+        jdbcTemplate.update("insert into users (id, name, email) values (?, 'another', 'another@mail.ru')", nextId);
+        assertThat(nextId, equalTo(51L));
+        assertThat(countUsers(dataSource), equalTo(2));
+    }
+
+    private DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "test", "test");
+    }
+
+    private Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .load();
+    }
+
+    private Integer countUsers(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("select count(*) from users", Integer.class);
+    }
+}
@@ -0,0 +1,234 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.state.BookingRole;
+import ru.practicum.shareit.booking.state.State;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryStorage;
+import ru.practicum.shareit.item.storage.CommentStorage;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.request.storage.RequestItemStorage;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.hamcrest.Matchers.not;
+
+/*
+ * Every test runs a real storage method, captures the SQL Hibernate sends and checks its H2 plan.
+ * H2 creates its own index for every foreign key and on small tables may prefer it to ours,
+ * so for those columns either index is accepted as long as the lookup goes by the filtered column.
+ */
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SchemaIndexTest {
+
+    private static final String FOREIGN_KEY_INDEX = "CONSTRAINT_INDEX_\\w+";
+
+    private final BookingStorage bookingStorage;
+    private final ItemBookingSummaryStorage summaryStorage;
+    private final ItemStorage itemStorage;
+    private final CommentStorage commentStorage;
+    private final RequestItemStorage requestItemStorage;
+    private final StatementCapture statementCapture;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void clearCapturedStatements() {
+        statementCapture.statements.clear();
+    }
+
+    @Test
+    void findBookingsForBookerLooksUpBooker() {
+        bookingStorage.findBookings(BookingRole.BOOKER, 1L, State.ALL, now, null, PageRequest.of(0, 20));
+
+        String plan = explainCapturedQuery();
+        assertIndexLookup(plan, orForeignKeyIndex("BOOKINGS_BOOKER_ID_START_DATE_IDX"), "BOOKER_ID");
+        assertThat(plan, not(containsString("USERS")));
+    }
+
+    @Test
+    void findBookingsForOwnerLooksUpOwnerItemsAndTheirBookings() {
+        bookingStorage.findBookings(BookingRole.OWNER, 1L, State.ALL, now, null, PageRequest.of(0, 20));
+
+        String plan = explainCapturedQuery();
+        assertIndexLookup(plan, orForeignKeyIndex("ITEMS_OWNER_ID_ID_IDX"), "OWNER_ID");
+        assertIndexLookup(plan, orForeignKeyIndex("BOOKINGS_ITEM_ID_\\w+"), "ITEM_ID");
+    }
+
+    @Test
+    void findLastBookingLooksUpItemAndStart() {
+        bookingStorage.findLastBooking(1L, BookingStatus.REJECTED, now, PageRequest.of(0, 1));
+
+        assertIndexLookup(explainCapturedQuery(), "BOOKINGS_ITEM_ID_(STATUS_)?START_DATE_IDX", "ITEM_ID");
+    }
+
+    @Test
+    void findNextBookingLooksUpItemAndStart() {
+        bookingStorage.findNextBooking(1L, BookingStatus.REJECTED, now, PageRequest.of(0, 1));
+
+        assertIndexLookup(explainCapturedQuery(), "BOOKINGS_ITEM_ID_(STATUS_)?START_DATE_IDX", "ITEM_ID");
+    }
+
+    @Test
+    void existsApprovedBookingLooksUpItemStatusAndStart() {
+        bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(1L, BookingStatus.APPROVED, now, now);
+
+        assertIndexLookup(explainCapturedQuery(), "BOOKINGS_ITEM_ID_STATUS_START_DATE_IDX", "STATUS");
+    }
+
+    @Test
+    void existsFinishedBookingLooksUpItem() {
+        bookingStorage.existsByItemIdAndEndBeforeAndBookerIdIs(1L, now, 1L);
+
+        assertIndexLookup(explainCapturedQuery(), orForeignKeyIndex("BOOKINGS_ITEM_ID_\\w+"), "ITEM_ID");
+    }
+
+    @Test
+    void findOverlappingLooksUpItemStatusAndStart() {
+        bookingStorage.findOverlapping(List.of(1L, 2L), BookingStatus.APPROVED, now, now);
+
+        assertIndexLookup(explainCapturedQuery(), "BOOKINGS_ITEM_ID_STATUS_START_DATE_IDX", "STATUS");
+    }
+
+    @Test
+    void findSummariesLooksUpPrimaryKey() {
+        summaryStorage.findAllById(List.of(1L, 2L));
+
+        assertIndexLookup(explainCapturedQuery(), "PRIMARY_KEY_\\w+", "ITEM_ID");
+    }
+
+    @Test
+    void findItemIdsWithStartedNextBookingLooksUpNextStart() {
+        summaryStorage.findItemIdsWithStartedNextBooking(now);
+
+        assertIndexLookup(explainCapturedQuery(), "ITEM_BOOKING_SUMMARIES_NEXT_START_DATE_IDX", "NEXT_START_DATE");
+    }
+
+    @Test
+    void findItemDtosByOwnerIdLooksUpOwner() {
+        itemStorage.findItemDtosByOwnerId(1L, PageRequest.of(0, 20));
+
+        assertIndexLookup(explainCapturedQuery(), orForeignKeyIndex("ITEMS_OWNER_ID_ID_IDX"), "OWNER_ID");
+    }
+
+    @Test
+    void findItemDtosByOwnerIdAfterLooksUpOwnerAndId() {
+        itemStorage.findItemDtosByOwnerIdAfter(1L, 10L, PageRequest.of(0, 20));
+
+        assertIndexLookup(explainCapturedQuery(), "ITEMS_OWNER_ID_ID_IDX", "ID");
+    }
+
+    @Test
+    void findItemsForRequestsLooksUpRequest() {
+        itemStorage.findItemsForRequests(List.of(1L, 2L));
+
+        assertIndexLookup(explainCapturedQuery(), orForeignKeyIndex("ITEMS_REQUEST_ID_IDX"), "REQUEST_ID");
+    }
+
+    @Test
+    void findCommentDtosByItemIdLooksUpItem() {
+        commentStorage.findCommentDtosByItemId(1L, Sort.by(Sort.Direction.DESC, "created"));
+
+        assertIndexLookup(explainCapturedQuery(), orForeignKeyIndex("COMMENTS_ITEM_ID_CREATED_IDX"), "ITEM_ID");
+    }
+
+    @Test
+    void findCommentDtosByItemIdInLooksUpItems() {
+        commentStorage.findCommentDtosByItemIdIn(List.of(1L, 2L), Sort.by(Sort.Direction.DESC, "created"));
+
+        assertIndexLookup(explainCapturedQuery(), orForeignKeyIndex("COMMENTS_ITEM_ID_CREATED_IDX"), "ITEM_ID");
+    }
+
+    @Test
+    void findByRequestorIdLooksUpRequestor() {
+        requestItemStorage.findByRequestorIdOrderByCreatedDesc(1L);
+
+        String plan = explainCapturedQuery();
+        assertIndexLookup(plan, orForeignKeyIndex("REQUESTS_REQUESTOR_ID_CREATED_IDX"), "REQUESTOR_ID");
+        assertThat(plan, not(containsString("USERS")));
+    }
+
+    @Test
+    void findOtherUsersRequestsAfterReadsCreatedIndexInOrder() {
+        requestItemStorage.findOtherUsersRequestsAfter(1L, now, 10L, PageRequest.of(0, 20));
+
+        String plan = explainCapturedQuery();
+        assertThat(plan, containsString("/* PUBLIC.REQUESTS_CREATED_ID_IDX */"));
+        assertThat(plan, containsString("/* index sorted */"));
+    }
+
+    private static String orForeignKeyIndex(String index) {
+        return "(" + index + "|" + FOREIGN_KEY_INDEX + ")";
+    }
+
+    private static void assertIndexLookup(String plan, String index, String column) {
+        assertThat(plan, not(containsString("tableScan")));
+        assertThat(plan, matchesRegex("(?s).*/\\* PUBLIC\\." + index + ": [^*]*\\b" + column + "\\b.*"));
+    }
+
+    private String explainCapturedQuery() {
+        assertThat(statementCapture.statements, hasSize(1));
+        String sql = statementCapture.statements.get(0);
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture statementCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCapture);
+        }
+    }
+
+    static class StatementCapture implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+public final class StatementCounter {
+
+    private static final String SEQUENCE_CALLS = "select coalesce(sum(base_value / increment), 0) " +
+            "from information_schema.sequences where sequence_schema = 'PUBLIC'";
+
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+    private final long sequenceCalls;
+
+    private StatementCounter(EntityManager entityManager, Statistics statistics, long sequenceCalls) {
+        this.entityManager = entityManager;
+        this.statistics = statistics;
+        this.sequenceCalls = sequenceCalls;
+    }
+
+    public static StatementCounter startStatementCount(EntityManager entityManager) {
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        long sequenceCalls = sequenceCalls(entityManager);
+        return new StatementCounter(entityManager,
+                startStatementCountWithWarmCache(entityManager.getEntityManagerFactory()), sequenceCalls);
+    }
+
+    public static Statistics startStatementCountWithWarmCache(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    /**
+     * Prepared statements since the start, without the nextval calls of the pooled id generators:
+     * whether a call falls into a test depends on how many ids earlier tests have taken from the pool.
+     */
+    public long getStatementCount() {
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        return statements - (sequenceCalls(entityManager) - sequenceCalls);
+    }
+
+    public long getEntityInsertCount() {
+        return statistics.getEntityInsertCount();
+    }
+
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    private static long sequenceCalls(EntityManager entityManager) {
+        return ((Number) entityManager.createNativeQuery(SEQUENCE_CALLS).getSingleResult()).longValue();
+    }
+}
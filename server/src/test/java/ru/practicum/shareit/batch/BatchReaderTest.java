@@ -0,0 +1,137 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.exception.InvalidBatchException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BatchReaderTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final BatchReader batchReader = new BatchReader(new ObjectMapper(), mock(EntityManager.class),
+            transactionManager, 2);
+
+    @Test
+    void readJsonArrayInChunksAndNumberResultsAcrossChunks() throws IOException {
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        List<BatchResult<String>> results = batchReader.readInChunks(body("[" + item("a") + "," + item("b") + ","
+                + item("c") + "," + item("d") + "," + item("e") + "]"), ItemDto.class, 10, chunk -> {
+            chunkSizes.add(chunk.size());
+            return names(chunk);
+        });
+
+        assertThat(chunkSizes, contains(2, 2, 1));
+        assertThat(results.stream().map(BatchResult::getIndex).collect(Collectors.toList()),
+                contains(0L, 1L, 2L, 3L, 4L));
+        assertThat(results.stream().map(BatchResult::getResult).collect(Collectors.toList()),
+                contains("a", "b", "c", "d", "e"));
+    }
+
+    @Test
+    void readNewlineDelimitedRecords() throws IOException {
+        List<BatchResult<String>> results = batchReader.readInChunks(body(item("a") + "\n" + item("b") + "\n"
+                + item("c") + "\n"), ItemDto.class, 10, chunk -> List.of(BatchResult.failed(chunk.size() - 1, "error")));
+
+        assertThat(results.size(), equalTo(2));
+        assertThat(results.get(0).getIndex(), equalTo(1L));
+        assertThat(results.get(1).getIndex(), equalTo(2L));
+    }
+
+    @Test
+    void wronglyTypedRecordInTheMiddleIsReportedAndOthersAreHandled() throws IOException {
+        List<BatchResult<String>> results = batchReader.readInChunks(body(item("a") + "\n"
+                + "{\"name\":\"b\",\"available\":\"x\"}\n" + "null\n" + item("c") + "\n" + item("d") + "\n"),
+                ItemDto.class, 10, BatchReaderTest::names);
+
+        assertThat(results.stream().map(BatchResult::getIndex).collect(Collectors.toList()),
+                contains(0L, 1L, 2L, 3L, 4L));
+        assertThat(results.stream().map(BatchResult::getResult).collect(Collectors.toList()),
+                contains("a", null, null, "c", "d"));
+        assertThat(results.get(1).getError(), startsWith("Запись не может быть прочитана"));
+        assertThat(results.get(2).getError(), startsWith("Запись не может быть прочитана"));
+    }
+
+    @Test
+    void transactionStartsAfterWholeStreamIsRead() throws IOException {
+        AtomicBoolean streamRead = new AtomicBoolean();
+        InputStream body = new FilterInputStream(body(item("a") + "\n" + item("b") + "\n" + item("c") + "\n")) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                streamRead.compareAndSet(false, read == -1);
+                return read;
+            }
+        };
+        List<Boolean> readBeforeTransaction = new ArrayList<>();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            readBeforeTransaction.add(streamRead.get());
+            return null;
+        });
+
+        batchReader.readInChunks(body, ItemDto.class, 10, BatchReaderTest::names);
+
+        assertThat(readBeforeTransaction, contains(true));
+    }
+
+    @Test
+    void malformedStreamIsRejected() {
+        assertThrows(InvalidBatchException.class, () -> batchReader.readInChunks(body(item("a") + "\n"
+                + item("b") + "\n{\"name\":"), ItemDto.class, 10, BatchReaderTest::names));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void batchOverMaxSizeIsRejected() {
+        assertThrows(InvalidBatchException.class, () -> batchReader.readInChunks(body(item("a") + "\n"
+                + item("b") + "\n" + item("c") + "\n"), ItemDto.class, 2, BatchReaderTest::names));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void readAllUpToMaxSize() throws IOException {
+        List<ItemDto> items = batchReader.readAll(body(item("a") + "\n" + item("b") + "\n"), ItemDto.class, 2);
+
+        assertThat(items.size(), equalTo(2));
+        assertThrows(InvalidBatchException.class, () -> batchReader.readAll(body(item("a") + "\n" + item("b") + "\n"
+                + item("c") + "\n"), ItemDto.class, 2));
+    }
+
+    private static List<BatchResult<String>> names(List<ItemDto> chunk) {
+        List<BatchResult<String>> chunkResults = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            chunkResults.add(BatchResult.ok(i, chunk.get(i).getName()));
+        }
+        return chunkResults;
+    }
+
+    private static String item(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"description\",\"available\":true}";
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.instanceOf;
+
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    private final LocalDateTime start = LocalDateTime.of(2050, 8, 29,
+            0, 0, 15);
+    private final LocalDateTime end = LocalDateTime.of(2050, 8, 30,
+            0, 0, 15);
+    private final List<UserDto> users = new ArrayList<>();
+    private final List<Long> bookingIds = new ArrayList<>();
+    private UserDto owner;
+
+    @BeforeEach
+    void createEnvironmentTest() {
+        owner = userService.addUser(new UserDto(0, "owner", "hotItemOwner@yandex.ru"));
+        users.add(owner);
+        ItemDto hotItem = itemService.addItem(owner.getId(), new ItemDto(0, "hotItem",
+                "hotItemDescription", true, null));
+
+        for (int i = 0; i < THREADS; i++) {
+            UserDto booker = userService.addUser(new UserDto(0, "booker", "hotItemBooker" + i + "@yandex.ru"));
+            users.add(booker);
+            bookingIds.add(bookingService.createBooking(new BookingRequestDto(0, hotItem.getId(),
+                    start.plusHours(i), end.plusHours(i)), booker.getId()).getId());
+        }
+    }
+
+    @AfterEach
+    void clearEnvironmentTest() {
+        users.forEach(user -> userService.deleteUser(user.getId()));
+    }
+
+    @Test
+    void confirmOverlappingBookingsConcurrentlyAndThenOnlyOneIsApproved() throws Exception {
+        List<Throwable> failures = confirmConcurrently(bookingIds);
+
+        long approvedInStorage = bookingIds.stream()
+                .map(id -> bookingService.getBookingResponse(owner.getId(), id))
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count();
+        assertThat(failures.size(), equalTo(THREADS - 1));
+        assertThat(failures, everyItem(allOf(instanceOf(NotAvailableException.class),
+                hasProperty("message", equalTo("Предмет уже забронирован на указанный период")))));
+        assertThat(approvedInStorage, equalTo(1L));
+    }
+
+    @Test
+    void confirmSameBookingConcurrentlyAndThenStatusChangesOnce() throws Exception {
+        List<Throwable> failures = confirmConcurrently(Collections.nCopies(THREADS, bookingIds.get(0)));
+
+        assertThat(failures.size(), equalTo(THREADS - 1));
+        assertThat(failures, everyItem(allOf(instanceOf(NotAvailableException.class),
+                hasProperty("message",
+                        equalTo("Изменения статуса аренды допустимо для вещей только со статусом 'В ожидании'")))));
+        assertThat(bookingService.getBookingResponse(owner.getId(), bookingIds.get(0)).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void confirmSameBookingInConcurrentBatchesAndThenOnlyOneChangesStatus() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<List<BatchResult<BookingResponseDto>>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            BookingApprovalDto approval = new BookingApprovalDto(bookingIds.get(0), i % 2 == 0);
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                return bookingService.confirmBookings(owner.getId(), List.of(approval));
+            }));
+        }
+        startSignal.countDown();
+        List<BatchResult<BookingResponseDto>> results = new ArrayList<>();
+        for (Future<List<BatchResult<BookingResponseDto>>> future : futures) {
+            results.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        List<BatchResult<BookingResponseDto>> changed = results.stream()
+                .filter(result -> result.getError() == null)
+                .collect(Collectors.toList());
+        assertThat(changed.size(), equalTo(1));
+        assertThat(bookingService.getBookingResponse(owner.getId(), bookingIds.get(0)).getStatus(),
+                equalTo(changed.get(0).getResult().getStatus()));
+    }
+
+    private List<Throwable> confirmConcurrently(List<Long> ids) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (long bookingId : ids) {
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                return bookingService.confirmBooking(owner.getId(), bookingId, true);
+            }));
+        }
+        startSignal.countDown();
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        executor.shutdown();
+        return failures;
+    }
+}
@@ -6,37 +6,56 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.batch.BatchReader;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserShortDto;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
+import javax.persistence.EntityManager;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
+import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_BOOKING_ID;
+import static ru.practicum.shareit.constants.headers.HeadersConstants.NEXT_CURSOR;
 import static ru.practicum.shareit.constants.headers.HeadersConstants.USER_ID;
 
 
 @WebMvcTest(controllers = BookingController.class)
+@Import(BatchReader.class)
 class BookingControllerTest {
 
     @Autowired
     ObjectMapper objectMapper;
     @MockBean
+    private EntityManager entityManager;
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+    @MockBean
     private BookingService service;
     @Autowired
     private MockMvc mvc;
@@ -97,6 +116,43 @@ class BookingControllerTest {
                 .andExpect((jsonPath("$.status", is(String.valueOf(bookingResponseDto.getStatus())))));
     }
 
+    @Test
+    void confirmBookingsAndThenStatusOk() throws Exception {
+        List<BookingApprovalDto> approvals = List.of(new BookingApprovalDto(1L, true),
+                new BookingApprovalDto(2L, false));
+        when(service.confirmBookings(1L, approvals))
+                .thenReturn(List.of(BatchResult.ok(0, bookingResponseDto), BatchResult.failed(1, WRONG_BOOKING_ID)));
+
+        mvc.perform(patch("/bookings/batch")
+                        .content(objectMapper.writeValueAsString(approvals))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header(USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].result.id", is(bookingResponseDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].error", is(WRONG_BOOKING_ID)));
+    }
+
+    @Test
+    void confirmBookingsOverMaxSizeAndThenBadRequest() throws Exception {
+        List<BookingApprovalDto> approvals = LongStream.rangeClosed(1, 101)
+                .mapToObj(id -> new BookingApprovalDto(id, true))
+                .collect(Collectors.toList());
+
+        mvc.perform(patch("/bookings/batch")
+                        .content(objectMapper.writeValueAsString(approvals))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header(USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Пакет не может содержать больше 100 записей")));
+        verify(service, never()).confirmBookings(anyLong(), anyList());
+    }
+
     @Test
     void getBookingByIdAndThenStatusOk() throws Exception {
         when(service.getBookingResponse(anyLong(), anyLong())).thenReturn(bookingResponseDto);
@@ -147,4 +203,44 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1));
     }
+
+    @Test
+    void getAllUserBookingWithFullPageAndThenNextCursorIsReturned() throws Exception {
+        when(service.getAllUserBooking(anyLong(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mvc.perform(get("/bookings")
+                        .param("from", "0")
+                        .param("size", "1")
+                        .header(USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR,
+                        PageCursor.of(bookingResponseDto.getStart(), bookingResponseDto.getId()).encode()));
+    }
+
+    @Test
+    void getAllOwnerBookingByCursorAndThenStatusIsOk() throws Exception {
+        PageCursor cursor = PageCursor.of(start, 1L);
+        when(service.getAllOwnerBooking(anyLong(), any(), eq(cursor), anyInt()))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .param("cursor", cursor.encode())
+                        .param("size", "2")
+                        .header(USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist(NEXT_CURSOR));
+    }
+
+    @Test
+    void getAllOwnerBookingWithWrongCursorAndThenStatusIsBadRequest() throws Exception {
+        mvc.perform(get("/bookings/owner")
+                        .param("cursor", "wrong cursor")
+                        .header(USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -2,25 +2,37 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.StatementCounter;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.state.State;
 import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.UnsupportedStateException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.StatementCounter.startStatementCount;
+import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_BOOKING_ID;
+import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_ITEM_ID;
 
 @Transactional
 @SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -30,6 +42,7 @@ class BookingIntegrationTest {
     private final BookingService bookingService;
     private final UserService userService;
     private final ItemService itemService;
+    private final EntityManager entityManager;
     private UserDto firstUserDto;
     private UserDto secondUserDto;
     private UserDto firstUserResponse;
@@ -73,6 +86,18 @@ class BookingIntegrationTest {
         assertThat(second.getStatus(), equalTo(BookingStatus.APPROVED));
     }
 
+    @Test
+    void getAllOwnerBookingByCursorAndThenNextPageIsReturned() {
+        createEnvironmentTest();
+
+        BookingResponseDto first = bookingService.getAllOwnerBooking(secondUserResponse.getId(), "ALL", 0, 1).get(0);
+        List<BookingResponseDto> nextPage = bookingService.getAllOwnerBooking(secondUserResponse.getId(), "ALL",
+                PageCursor.of(first.getStart(), first.getId()), 3);
+
+        assertThat(nextPage.size(), equalTo(1));
+        assertThat(nextPage.get(0).getId(), equalTo(secondBookingResponseDtoByUser1.getId()));
+    }
+
     @Test
     void getAllOwnerBookingWithWrongState() {
         createEnvironmentTest();
@@ -98,6 +123,179 @@ class BookingIntegrationTest {
 
     }
 
+    @Test
+    void createBookingForAlreadyApprovedPeriodAndThenThrowsNotAvailable() {
+        createEnvironmentTest();
+        bookingService.confirmBooking(secondUserResponse.getId(), firstBookingResponseDtoByUser1.getId(), true);
+        BookingRequestDto overlapping = new BookingRequestDto(0, secondItemResponse.getId(),
+                firstStart.plusHours(12), firstEnd.plusHours(12));
+
+        assertThrows(NotAvailableException.class,
+                () -> bookingService.createBooking(overlapping, firstUserResponse.getId()));
+    }
+
+    @Test
+    void confirmBookingForAlreadyApprovedPeriodAndThenThrowsNotAvailable() {
+        createEnvironmentTest();
+        BookingResponseDto overlapping = bookingService.createBooking(new BookingRequestDto(0,
+                secondItemResponse.getId(), firstStart.plusHours(12), firstEnd.plusHours(12)), firstUserResponse.getId());
+        bookingService.confirmBooking(secondUserResponse.getId(), firstBookingResponseDtoByUser1.getId(), true);
+
+        assertThrows(NotAvailableException.class,
+                () -> bookingService.confirmBooking(secondUserResponse.getId(), overlapping.getId(), true));
+    }
+
+    @ParameterizedTest
+    @EnumSource(State.class)
+    void getAllUserBookingWithUserLookupAndSingleQueryForEachState(State state) {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        bookingService.getAllUserBooking(firstUserResponse.getId(), state.name(), 0, 10);
+
+        assertThat(statements.getStatementCount(), equalTo(2L));
+    }
+
+    @ParameterizedTest
+    @EnumSource(State.class)
+    void getAllOwnerBookingWithUserLookupAndSingleQueryForEachState(State state) {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        bookingService.getAllOwnerBooking(secondUserResponse.getId(), state.name(), 0, 10);
+
+        assertThat(statements.getStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void getAllUserBookingAfterCursorStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        bookingService.getAllUserBooking(firstUserResponse.getId(), State.ALL.name(),
+                PageCursor.of(secondStart, secondBookingResponseDtoByUser1.getId()), 10);
+
+        assertThat(statements.getStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void getAllOwnerBookingAfterCursorStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        bookingService.getAllOwnerBooking(secondUserResponse.getId(), State.ALL.name(),
+                PageCursor.of(secondStart, secondBookingResponseDtoByUser1.getId()), 10);
+
+        assertThat(statements.getStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void confirmBookingsStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        bookingService.confirmBookings(secondUserResponse.getId(), List.of(
+                new BookingApprovalDto(firstBookingResponseDtoByUser1.getId(), true),
+                new BookingApprovalDto(secondBookingResponseDtoByUser1.getId(), false)));
+        entityManager.flush();
+
+        assertThat(statements.getStatementCount(), equalTo(12L));
+    }
+
+    @Test
+    void getBookingLoadsItemWithSingleStatement() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        BookingResponseDto booking = bookingService.getBookingResponse(firstUserResponse.getId(),
+                firstBookingResponseDtoByUser1.getId());
+
+        assertThat(booking.getItem().getName(), equalTo(secondItemResponse.getName()));
+        assertThat(statements.getStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void createBookingStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        bookingService.createBooking(new BookingRequestDto(0, thirdItemResponse.getId(), firstStart.plusDays(5),
+                firstEnd.plusDays(5)), firstUserResponse.getId());
+        entityManager.flush();
+
+        assertThat(statements.getStatementCount(), equalTo(7L));
+    }
+
+    @Test
+    void confirmBookingStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        bookingService.confirmBooking(secondUserResponse.getId(), firstBookingResponseDtoByUser1.getId(), true);
+        entityManager.flush();
+
+        assertThat(statements.getStatementCount(), equalTo(8L));
+    }
+
+    @Test
+    void createBookingsReportsEachElementOutcome() {
+        createEnvironmentTest();
+        bookingService.confirmBooking(secondUserResponse.getId(), firstBookingResponseDtoByUser1.getId(), true);
+        List<BookingRequestDto> requests = List.of(
+                new BookingRequestDto(0, thirdItemResponse.getId(), firstStart.plusDays(5), firstEnd.plusDays(5)),
+                new BookingRequestDto(0, secondItemResponse.getId(), firstStart.plusHours(12),
+                        firstEnd.plusHours(12)),
+                new BookingRequestDto(0, -1L, firstStart, firstEnd),
+                new BookingRequestDto(0, thirdItemResponse.getId(), firstStart.plusDays(6), firstEnd.plusDays(6)));
+        StatementCounter statements = startStatementCount(entityManager);
+
+        List<BatchResult<BookingResponseDto>> results = bookingService.createBookings(requests,
+                firstUserResponse.getId());
+        entityManager.flush();
+
+        assertThat(results.get(0).getResult().getItem().getId(), equalTo(thirdItemResponse.getId()));
+        assertThat(results.get(1).getError(), equalTo("Предмет уже забронирован на указанный период"));
+        assertThat(results.get(2).getError(), equalTo(WRONG_ITEM_ID));
+        assertThat(results.get(3).getResult().getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(statements.getEntityInsertCount(), equalTo(2L));
+        assertThat(statements.getStatementCount(), equalTo(7L));
+    }
+
+    @Test
+    void confirmBookingsAppliesEarlierApprovalsOfTheSameBatch() {
+        createEnvironmentTest();
+        BookingResponseDto overlapping = bookingService.createBooking(new BookingRequestDto(0,
+                secondItemResponse.getId(), firstStart.plusHours(12), firstEnd.plusHours(12)), firstUserResponse.getId());
+        List<BookingApprovalDto> approvals = List.of(
+                new BookingApprovalDto(firstBookingResponseDtoByUser1.getId(), true),
+                new BookingApprovalDto(overlapping.getId(), true),
+                new BookingApprovalDto(secondBookingResponseDtoByUser1.getId(), false),
+                new BookingApprovalDto(secondBookingResponseDtoByUser1.getId(), true),
+                new BookingApprovalDto(-1L, true));
+
+        List<BatchResult<BookingResponseDto>> results = bookingService.confirmBookings(secondUserResponse.getId(),
+                approvals);
+
+        assertThat(results.get(0).getResult().getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(results.get(1).getError(), equalTo("Предмет уже забронирован на указанный период"));
+        assertThat(results.get(2).getResult().getStatus(), equalTo(BookingStatus.REJECTED));
+        assertThat(results.get(3).getError(),
+                equalTo("Изменения статуса аренды допустимо для вещей только со статусом 'В ожидании'"));
+        assertThat(results.get(4).getError(), equalTo(WRONG_BOOKING_ID));
+    }
+
+    @Test
+    void confirmBookingsByAnotherUserLeavesBookingsWaiting() {
+        createEnvironmentTest();
+
+        List<BatchResult<BookingResponseDto>> results = bookingService.confirmBookings(firstUserResponse.getId(),
+                List.of(new BookingApprovalDto(firstBookingResponseDtoByUser1.getId(), true)));
+
+        assertThat(results.get(0).getError(), equalTo("Изменить статус запроса может только владелец вещи"));
+        assertThat(bookingService.getBookingResponse(firstUserResponse.getId(),
+                firstBookingResponseDtoByUser1.getId()).getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
     private void createEnvironmentTest() {
         firstUserDto = new UserDto(0, "name", "email.yandex.ru");
         secondUserDto = new UserDto(0, "name", "anotherEmail.yandex.ru");
@@ -3,23 +3,28 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.state.BookingRole;
+import ru.practicum.shareit.booking.state.State;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.UnsupportedStateException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.registry.UserRegistry;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,6 +35,10 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +49,9 @@ class BookingServiceTest {
     @Mock
     private ItemStorage itemStorage;
     @Mock
-    private UserStorage userStorage;
+    private UserRegistry userRegistry;
+    @Mock
+    private ItemBookingSummaryService summaryService;
     @InjectMocks
     private BookingServiceImpl service;
 
@@ -70,8 +81,8 @@ class BookingServiceTest {
 
     @Test
     void createBooking() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
+        when(itemStorage.findLockedById(anyLong())).thenReturn(Optional.of(item));
         when(bookingStorage.save(any())).thenReturn(booking);
 
         BookingResponseDto brd = service.createBooking(bookingRequestDto, 2L);
@@ -84,8 +95,8 @@ class BookingServiceTest {
 
     @Test
     void createBookingWithOwnerIdAndThenThrowsEntityNotFound() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
+        when(itemStorage.findLockedById(anyLong())).thenReturn(Optional.of(item));
 
         assertThrows(EntityNotFoundException.class, () -> service.createBooking(bookingRequestDto, 1L));
     }
@@ -93,15 +104,27 @@ class BookingServiceTest {
     @Test
     void createBookingWhenItemIsNotAvailableAndThenThrowsNotAvailable() {
         item.setAvailable(false);
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
+        when(itemStorage.findLockedById(anyLong())).thenReturn(Optional.of(item));
+
+        assertThrows(NotAvailableException.class, () -> service.createBooking(bookingRequestDto, 2L));
+    }
+
+    @Test
+    void createBookingWhenPeriodIsAlreadyBookedAndThenThrowsNotAvailable() {
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
+        when(itemStorage.findLockedById(anyLong())).thenReturn(Optional.of(item));
+        when(bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(anyLong(), eq(BookingStatus.APPROVED),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
 
         assertThrows(NotAvailableException.class, () -> service.createBooking(bookingRequestDto, 2L));
     }
 
     @Test
     void confirmBooking() {
+        when(bookingStorage.findItemIdById(anyLong())).thenReturn(Optional.of(item.getId()));
         when(bookingStorage.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemStorage.findLockedById(anyLong())).thenReturn(Optional.of(item));
         when(bookingStorage.save(any())).thenReturn(confirmedBooking);
 
         BookingResponseDto brd = service.confirmBooking(1L, 1L, true);
@@ -111,11 +134,27 @@ class BookingServiceTest {
         assertThat(brd.getEnd(), equalTo(bookingRequestDto.getEnd()));
         assertThat(brd.getItem().getId(), equalTo(bookingRequestDto.getItemId()));
         assertThat(brd.getStatus(), equalTo(BookingStatus.APPROVED));
+        InOrder inOrder = inOrder(itemStorage, bookingStorage);
+        inOrder.verify(itemStorage).findLockedById(item.getId());
+        inOrder.verify(bookingStorage).findById(1L);
+    }
+
+    @Test
+    void confirmBookingWhenPeriodIsAlreadyBookedAndThenThrowsNotAvailable() {
+        when(bookingStorage.findItemIdById(anyLong())).thenReturn(Optional.of(item.getId()));
+        when(bookingStorage.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemStorage.findLockedById(anyLong())).thenReturn(Optional.of(item));
+        when(bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(anyLong(), eq(BookingStatus.APPROVED),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+
+        assertThrows(NotAvailableException.class, () -> service.confirmBooking(1L, 1L, true));
     }
 
     @Test
     void rejectBooking() {
+        when(bookingStorage.findItemIdById(anyLong())).thenReturn(Optional.of(item.getId()));
         when(bookingStorage.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemStorage.findLockedById(anyLong())).thenReturn(Optional.of(item));
         when(bookingStorage.save(any())).thenReturn(rejectedBooking);
 
         BookingResponseDto brd = service.confirmBooking(1L, 1L, false);
@@ -125,19 +164,21 @@ class BookingServiceTest {
         assertThat(brd.getEnd(), equalTo(bookingRequestDto.getEnd()));
         assertThat(brd.getItem().getId(), equalTo(bookingRequestDto.getItemId()));
         assertThat(brd.getStatus(), equalTo(BookingStatus.REJECTED));
+        verify(summaryService).refresh(item.getId());
     }
 
     @Test
     void confirmBookingByAnotherUserAndThenThrowsEntityNotFound() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
+        when(itemStorage.findLockedById(anyLong())).thenReturn(Optional.of(item));
 
         assertThrows(EntityNotFoundException.class, () -> service.createBooking(bookingRequestDto, 1L));
     }
 
     @Test
     void getBooking() {
-        when(bookingStorage.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingStorage.findBookingResponse(booking.getId(), user.getId()))
+                .thenReturn(Optional.of(BookingMapper.makeBookingResponse(booking)));
 
         BookingResponseDto brd = service.getBookingResponse(user.getId(), booking.getId());
 
@@ -150,7 +191,8 @@ class BookingServiceTest {
 
     @Test
     void getBookingByAnotherUserAndThenThrowsEntityNotFound() {
-        when(bookingStorage.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingStorage.findBookingResponse(booking.getId(), anotherUser.getId())).thenReturn(Optional.empty());
+        when(bookingStorage.existsById(booking.getId())).thenReturn(true);
 
         assertThrows(EntityNotFoundException.class,
                 () -> service.getBookingResponse(anotherUser.getId(), booking.getId()));
@@ -158,9 +200,9 @@ class BookingServiceTest {
 
     @Test
     void getAllUserBookings() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingStorage.findAllBookingByBookerIdAndStatusIs(anyLong(), any(), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingStorage.findBookings(eq(BookingRole.BOOKER), anyLong(), eq(State.WAITING),
+                any(LocalDateTime.class), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.makeBookingResponse(booking)));
 
         List<BookingResponseDto> brd = service.getAllUserBooking(user.getId(), "WAITING", 0, 1);
 
@@ -172,7 +214,6 @@ class BookingServiceTest {
 
     @Test
     void getAllUserBookingsWithWrongState() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
 
         assertThrows(UnsupportedStateException.class,
                 () -> service.getAllUserBooking(user.getId(), "WrongState", 0, 1));
@@ -180,9 +221,9 @@ class BookingServiceTest {
 
     @Test
     void getAllOwnerBookings() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingStorage.findAllBookingByItemOwnerIdAndStatusIs(anyLong(), any(), any(Pageable.class)))
-                .thenReturn(List.of(rejectedBooking));
+        when(bookingStorage.findBookings(eq(BookingRole.OWNER), anyLong(), eq(State.REJECTED),
+                any(LocalDateTime.class), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.makeBookingResponse(rejectedBooking)));
 
         List<BookingResponseDto> brd = service.getAllOwnerBooking(user.getId(), "REJECTED", 0, 1);
 
@@ -194,7 +235,6 @@ class BookingServiceTest {
 
     @Test
     void getAllOwnerBookingsWithWrongState() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
 
         assertThrows(UnsupportedStateException.class,
                 () -> service.getAllOwnerBooking(user.getId(), "WrongState", 0, 1));
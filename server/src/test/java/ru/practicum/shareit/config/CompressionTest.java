@@ -0,0 +1,75 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private UserService userService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void largeJsonResponseIsCompressedAndKeepsEtag() throws IOException, InterruptedException {
+        List<UserDto> users = LongStream.rangeClosed(1, 100)
+                .mapToObj(id -> new UserDto(id, "user" + id, "user" + id + "@yandex.ru"))
+                .collect(Collectors.toList());
+        when(userService.getAllUsers()).thenReturn(users);
+
+        HttpResponse<byte[]> plain = send(null);
+        HttpResponse<byte[]> compressed = send("gzip");
+
+        assertThat(compressed.statusCode(), equalTo(200));
+        assertThat(compressed.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null), equalTo("gzip"));
+        assertThat(compressed.headers().firstValue(HttpHeaders.ETAG).orElse(""), startsWith("W/"));
+        assertThat(compressed.body().length, lessThan(plain.body().length / 4));
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(compressed.body())).readAllBytes(),
+                equalTo(plain.body()));
+    }
+
+    @Test
+    void smallJsonResponseIsNotCompressed() throws IOException, InterruptedException {
+        when(userService.getAllUsers()).thenReturn(List.of(new UserDto(1L, "user", "user@yandex.ru")));
+
+        HttpResponse<byte[]> response = send("gzip");
+
+        assertThat(response.statusCode(), equalTo(200));
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isPresent(), equalTo(false));
+    }
+
+    private HttpResponse<byte[]> send(String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                .header(HttpHeaders.ACCEPT, "application/json");
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
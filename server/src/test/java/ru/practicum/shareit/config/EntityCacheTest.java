@@ -0,0 +1,92 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
+import ru.practicum.shareit.request.model.RequestItem;
+import ru.practicum.shareit.request.service.RequestItemService;
+import ru.practicum.shareit.request.storage.RequestItemStorage;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.StatementCounter.startStatementCountWithWarmCache;
+
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class EntityCacheTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemStorage itemStorage;
+    private final RequestItemService requestItemService;
+    private final RequestItemStorage requestItemStorage;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry registry;
+
+    @Test
+    void repeatedUserLookupIsServedFromCache() {
+        UserDto user = userService.addUser(new UserDto(0, "cached", "cached@yandex.ru"));
+        userService.getUserDto(user.getId());
+        Statistics statistics = startStatementCountWithWarmCache(entityManagerFactory);
+
+        UserDto cached = userService.getUserDto(user.getId());
+
+        assertThat(cached, equalTo(user));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(registry.get("cache.gets").tag("cache", User.class.getName()).tag("result", "hit")
+                .functionCounter().count(), greaterThan(0.0));
+        userService.deleteUser(user.getId());
+    }
+
+    @Test
+    void repeatedItemAndRequestLookupsAreServedFromCache() {
+        UserDto owner = userService.addUser(new UserDto(0, "owner", "cachedItems@yandex.ru"));
+        long requestId = requestItemService.addRequest(owner.getId(), new RequestItemRequestDto("Нужна дрель"))
+                .getId();
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(0, "item", "description", true, requestId));
+        itemStorage.findById(item.getId());
+        requestItemStorage.findById(requestId);
+        Statistics statistics = startStatementCountWithWarmCache(entityManagerFactory);
+
+        itemStorage.findById(item.getId());
+        requestItemStorage.findById(requestId);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(registry.get("cache.gets").tag("cache", Item.class.getName()).tag("result", "hit")
+                .functionCounter().count(), greaterThan(0.0));
+        assertThat(registry.get("cache.gets").tag("cache", RequestItem.class.getName()).tag("result", "hit")
+                .functionCounter().count(), greaterThan(0.0));
+        userService.deleteUser(owner.getId());
+    }
+
+    @Test
+    void deletedUserAndTheirItemsAreEvicted() {
+        UserDto owner = userService.addUser(new UserDto(0, "owner", "evicted@yandex.ru"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(0, "item", "description", true, null));
+        userService.getUserDto(owner.getId());
+        itemStorage.findById(item.getId());
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId()), equalTo(true));
+
+        userService.deleteUser(owner.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId()), equalTo(false));
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserDto(owner.getId()));
+        assertThrows(EntityNotFoundException.class, () -> itemService.getItemDto(owner.getId(), item.getId()));
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ExtendWith(OutputCaptureExtension.class)
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(EmbeddedWebServerFactoryCustomizerAutoConfiguration.class))
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void virtualThreadsAreDisabledByDefault() {
+        contextRunner.run(context ->
+                assertThat(context.getBeansOfType(TomcatProtocolHandlerCustomizer.class).size(), equalTo(0)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enabledModeUsesVirtualThreadsWhenJavaSupportsThem() {
+        contextRunner.withPropertyValues("shareit.virtual-threads.enabled=true").run(context -> {
+            Http11NioProtocol protocol = new Http11NioProtocol();
+            ExecutorService platformExecutor = Executors.newSingleThreadExecutor();
+            protocol.setExecutor(platformExecutor);
+
+            context.getBean(TomcatProtocolHandlerCustomizer.class).customize(protocol);
+
+            if (Runtime.version().feature() >= 21) {
+                assertThat(protocol.getExecutor(), not(instanceOf(ThreadPoolExecutor.class)));
+            } else {
+                assertThat(protocol.getExecutor(), equalTo(platformExecutor));
+            }
+            platformExecutor.shutdown();
+        });
+    }
+
+    @Test
+    void executorIsCreatedByVirtualThreadFactoryWhenPresent() {
+        Optional<ExecutorService> executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor(
+                VirtualThreadExecutors.class);
+
+        assertThat(executor.get(), sameInstance(VirtualThreadExecutors.EXECUTOR));
+    }
+
+    @Test
+    void platformPoolIsKeptWithoutVirtualThreadFactory(CapturedOutput output) {
+        assertThat(VirtualThreadsConfig.newVirtualThreadPerTaskExecutor(Object.class), equalTo(Optional.empty()));
+        assertThat(output.getOut(), containsString("Java " + Runtime.version().feature()));
+    }
+
+    @Test
+    void platformPoolIsKeptWhenVirtualThreadFactoryFails(CapturedOutput output) {
+        assertThat(VirtualThreadsConfig.newVirtualThreadPerTaskExecutor(FailingVirtualThreadExecutors.class),
+                equalTo(Optional.empty()));
+        assertThat(output.getOut(), allOf(containsString("UnsupportedOperationException: no carrier threads"),
+                not(containsString("Java " + Runtime.version().feature()))));
+    }
+
+    public static class VirtualThreadExecutors {
+
+        static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
+
+        public static ExecutorService newVirtualThreadPerTaskExecutor() {
+            return EXECUTOR;
+        }
+    }
+
+    public static class FailingVirtualThreadExecutors {
+
+        public static ExecutorService newVirtualThreadPerTaskExecutor() {
+            throw new UnsupportedOperationException("no carrier threads");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+@SpringBootTest(properties = {"db.name=test", "shareit.search.engine=index"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class IndexedItemSearchTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final UserStorage userStorage;
+
+    private UserDto owner;
+    private ItemDto drill;
+
+    @BeforeEach
+    void createEnvironmentTest() {
+        owner = userService.addUser(new UserDto(0, "owner", "indexedItemOwner@yandex.ru"));
+        drill = itemService.addItem(owner.getId(), new ItemDto(0, "Дрель", "Аккумуляторная", true, null));
+    }
+
+    @AfterEach
+    void clearEnvironmentTest() {
+        if (userStorage.existsById(owner.getId())) {
+            userService.deleteUser(owner.getId());
+        }
+    }
+
+    @Test
+    void searchFollowsCommittedChanges() {
+        assertThat(searchIds("дрел"), contains(drill.getId()));
+
+        itemService.updateItem(owner.getId(), drill.getId(), new ItemDto(0, "Перфоратор", null, null, null));
+        assertThat(searchIds("дрел"), empty());
+        assertThat(searchIds("перфоратор"), contains(drill.getId()));
+
+        itemService.updateItem(owner.getId(), drill.getId(), new ItemDto(0, null, null, false, null));
+        assertThat(searchIds("перфоратор"), empty());
+    }
+
+    @Test
+    void searchForgetsItemsOfDeletedUser() {
+        userService.deleteUser(owner.getId());
+
+        assertThat(searchIds("дрел"), empty());
+    }
+
+    private List<Long> searchIds(String text) {
+        return itemService.searchItems(text, 0, 10).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -6,9 +6,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.batch.BatchReader;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.config.EtagFilterConfig;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
@@ -16,6 +22,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import javax.persistence.EntityManager;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,16 +31,24 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_REQUEST_ID;
 import static ru.practicum.shareit.constants.headers.HeadersConstants.USER_ID;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import({BatchReader.class, EtagFilterConfig.class})
 class ItemControllerTest {
 
     @Autowired
     ObjectMapper objectMapper;
     @MockBean
+    private EntityManager entityManager;
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+    @MockBean
     private ItemService service;
     @Autowired
     private MockMvc mvc;
@@ -74,7 +89,8 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id", is(itemDto.getId()), Long.class))
                 .andExpect(jsonPath("$.name", is(String.valueOf(itemDto.getName()))))
                 .andExpect(jsonPath("$.description", is(String.valueOf(itemDto.getDescription()))))
-                .andExpect((jsonPath("$.available", is(itemDto.getAvailable()))));
+                .andExpect((jsonPath("$.available", is(itemDto.getAvailable()))))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
     }
 
     @Test
@@ -90,6 +106,42 @@ class ItemControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void createItemsFromNdjsonAndThenResultPerRecord() throws Exception {
+        ItemDto unknownRequest = new ItemDto(0, "item", "description", true, 99L);
+        when(service.addItems(1L, List.of(itemDto, unknownRequest)))
+                .thenReturn(List.of(BatchResult.ok(0, itemDto), BatchResult.failed(1, WRONG_REQUEST_ID)));
+
+        mvc.perform(post("/items/batch")
+                        .content(objectMapper.writeValueAsString(itemDto) + "\n"
+                                + objectMapper.writeValueAsString(unknownRequest) + "\n")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header(USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].result.id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].result").doesNotExist())
+                .andExpect(jsonPath("$[1].error", is(WRONG_REQUEST_ID)));
+    }
+
+    @Test
+    void createItemsFromMalformedStreamAndThenBadRequest() throws Exception {
+        when(service.addItems(anyLong(), anyList())).thenReturn(List.of(BatchResult.ok(0, itemDto)));
+
+        mvc.perform(post("/items/batch")
+                        .content(objectMapper.writeValueAsString(itemDto) + "\n{\"name\":")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header(USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
     @Test
     void updateItemAndThenStatusIsOk() throws Exception {
         when(service.updateItem(anyLong(), anyLong(), any())).thenReturn(itemDto);
@@ -123,6 +175,35 @@ class ItemControllerTest {
                 .andExpect((jsonPath("$.available", is(itemDto.getAvailable()))));
     }
 
+    @Test
+    void getUnchangedItemWithEtagAndThenNotModified() throws Exception {
+        when(service.getItemDto(anyLong(), anyLong())).thenReturn(itemResponseDto);
+
+        String etag = mvc.perform(get("/items/{itemId}", 1L)
+                        .header(USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/items/{itemId}", 1L)
+                        .header(USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        itemResponseDto.setName("renamed");
+        mvc.perform(get("/items/{itemId}", 1L)
+                        .header(USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("renamed")));
+    }
+
     @Test
     void getAllOwnerItemsAndThenStatusOk() throws Exception {
         when(service.getAllOwnersItems(anyLong(), anyInt(), anyInt())).thenReturn(List.of(itemResponseDto));
@@ -165,6 +246,20 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.length()").value(1));
     }
 
+    @Test
+    void suggestItemNamesAndThenStatusOk() throws Exception {
+        when(service.suggestItemNames("sh", 5)).thenReturn(List.of("SHOVEL"));
+
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "sh")
+                        .param("size", "5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("SHOVEL"));
+    }
+
     @Test
     void addCommentAndThenStatusOk() throws Exception {
         when(service.addComment(any(), anyLong(), anyLong())).thenReturn(commentResponseDto);
@@ -4,22 +4,49 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.StatementCounter;
+import ru.practicum.shareit.batch.BatchReader;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryStorage;
+import ru.practicum.shareit.exception.InvalidBatchException;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
+import ru.practicum.shareit.request.service.RequestItemService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.StatementCounter.startStatementCount;
+import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_REQUEST_ID;
 
 @Transactional
 @SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -29,6 +56,12 @@ class ItemIntegrationTest {
     private final BookingService bookingService;
     private final UserService userService;
     private final ItemService itemService;
+    private final EntityManager entityManager;
+    private final ItemBookingSummaryService summaryService;
+    private final ItemBookingSummaryStorage summaryStorage;
+    private final ItemStorage itemStorage;
+    private final RequestItemService requestItemService;
+    private final BatchReader batchReader;
 
     private UserDto firstUserDto;
     private UserDto secondUserDto;
@@ -76,6 +109,227 @@ class ItemIntegrationTest {
         assertThat(responseDto.getComments().get(0), equalTo(commentResponseDto));
     }
 
+    @Test
+    void searchItemsIgnoresCaseAndSkipsUnavailableItems() {
+        UserDto owner = userService.addUser(new UserDto(0, "name", "email.yandex.ru"));
+        ItemDto drill = itemService.addItem(owner.getId(), new ItemDto(0, "Дрель", "Аккумуляторная", true, null));
+        itemService.addItem(owner.getId(), new ItemDto(0, "Дрель ударная", "Сломана", false, null));
+        ItemDto screwdriver = itemService.addItem(owner.getId(),
+                new ItemDto(0, "Шуруповерт", "Работает как дрель", true, null));
+
+        List<ItemDto> found = itemService.searchItems("дРЕЛЬ", 0, 10);
+
+        assertThat(found.stream().map(ItemDto::getId).collect(Collectors.toList()),
+                containsInAnyOrder(drill.getId(), screwdriver.getId()));
+    }
+
+    @Test
+    void getItemResponseDtoByOwnerDoesNotDependOnBookingHistory() {
+        UserDto owner = userService.addUser(new UserDto(0, "owner", "email.yandex.ru"));
+        UserDto booker = userService.addUser(new UserDto(0, "booker", "anotherEmail.yandex.ru"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(0, "item", "description", true, null));
+        addBookings(item.getId(), booker.getId(), 0, 1);
+        itemService.getItemDto(owner.getId(), item.getId());
+        StatementCounter statements = startStatementCount(entityManager);
+        itemService.getItemDto(owner.getId(), item.getId());
+        long statementsForShortHistory = statements.getStatementCount();
+
+        addBookings(item.getId(), booker.getId(), 1, 50);
+        statements = startStatementCount(entityManager);
+        ItemResponseDto responseDto = itemService.getItemDto(owner.getId(), item.getId());
+
+        assertThat(statements.getStatementCount(), equalTo(statementsForShortHistory));
+        assertThat(statements.getStatistics().getEntityStatistics(Booking.class.getName()).getLoadCount(),
+                equalTo(0L));
+        assertThat(responseDto.getLastBooking(), equalTo(null));
+        assertThat(responseDto.getNextBooking().getBookerId(), equalTo(booker.getId()));
+    }
+
+    @Test
+    void ownersItemsFollowBookingTransitions() throws InterruptedException {
+        UserDto owner = userService.addUser(new UserDto(0, "owner", "email.yandex.ru"));
+        UserDto booker = userService.addUser(new UserDto(0, "booker", "anotherEmail.yandex.ru"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(0, "item", "description", true, null));
+        BookingResponseDto soon = bookingService.createBooking(new BookingRequestDto(0, item.getId(),
+                LocalDateTime.now().plusSeconds(1), LocalDateTime.now().plusSeconds(2)), booker.getId());
+        BookingResponseDto later = bookingService.createBooking(new BookingRequestDto(0, item.getId(),
+                secondStart, secondEnd), booker.getId());
+
+        ItemResponseDto beforeStart = itemService.getAllOwnersItems(owner.getId(), 0, 10).get(0);
+        assertThat(beforeStart.getLastBooking(), equalTo(null));
+        assertThat(beforeStart.getNextBooking().getId(), equalTo(soon.getId()));
+
+        Thread.sleep(1500); // Для наступления ближайшего бронирования
+        ItemResponseDto afterStart = itemService.getAllOwnersItems(owner.getId(), 0, 10).get(0);
+        assertThat(afterStart.getLastBooking().getId(), equalTo(soon.getId()));
+        assertThat(afterStart.getNextBooking().getId(), equalTo(later.getId()));
+
+        summaryService.rollForward();
+        assertThat(summaryStorage.findById(item.getId()).orElseThrow().getNextBookingId(), equalTo(later.getId()));
+
+        bookingService.confirmBooking(owner.getId(), later.getId(), false);
+        assertThat(itemService.getItemDto(owner.getId(), item.getId()).getNextBooking(), equalTo(null));
+
+        userService.deleteUser(booker.getId());
+        assertThat(itemService.getItemDto(owner.getId(), item.getId()).getLastBooking(), equalTo(null));
+    }
+
+    @Test
+    void getItemResponseDtoByOwnerStatementCount() throws InterruptedException {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemService.getItemDto(secondUserResponse.getId(), secondItemResponse.getId());
+
+        assertThat(statements.getStatementCount(), equalTo(4L));
+    }
+
+    @Test
+    void getAllOwnersItemsStatementCount() throws InterruptedException {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemService.getAllOwnersItems(secondUserResponse.getId(), 0, 10);
+
+        assertThat(statements.getStatementCount(), equalTo(4L));
+    }
+
+    @Test
+    void getAllOwnersItemsAfterCursorStatementCount() throws InterruptedException {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemService.getAllOwnersItems(secondUserResponse.getId(), PageCursor.of(0), 10);
+
+        assertThat(statements.getStatementCount(), equalTo(4L));
+    }
+
+    @Test
+    void addItemStatementCount() throws InterruptedException {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemService.addItem(firstUserResponse.getId(), new ItemDto(0, "Пила", "Ножовка", true, null));
+        entityManager.flush();
+
+        assertThat(statements.getStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void updateItemStatementCount() throws InterruptedException {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemService.updateItem(secondUserResponse.getId(), secondItemResponse.getId(),
+                new ItemDto(0, "Пила", null, null, null));
+        entityManager.flush();
+
+        assertThat(statements.getStatementCount(), equalTo(3L));
+    }
+
+    @Test
+    void deleteItemStatementCount() throws InterruptedException {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemService.deleteItem(firstUserResponse.getId(), firstItemResponse.getId());
+        entityManager.flush();
+
+        assertThat(statements.getStatementCount(), equalTo(3L));
+    }
+
+    @Test
+    void searchItemsStatementCount() throws InterruptedException {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemService.searchItems("item", 0, 10);
+
+        assertThat(statements.getStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void suggestItemNamesStatementCount() throws InterruptedException {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemService.suggestItemNames("ite", 10);
+
+        assertThat(statements.getStatementCount(), equalTo(0L));
+    }
+
+    @Test
+    void addCommentStatementCount() throws InterruptedException {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemService.addComment(commentRequestDto, firstUserResponse.getId(), secondItemResponse.getId());
+        entityManager.flush();
+
+        assertThat(statements.getStatementCount(), equalTo(4L));
+    }
+
+    @Test
+    void saveAllItemsInsertsInBatches() {
+        UserDto owner = userService.addUser(new UserDto(0, "owner", "email.yandex.ru"));
+        User user = entityManager.getReference(User.class, owner.getId());
+        List<Item> items = IntStream.range(0, 120)
+                .mapToObj(i -> ItemMapper.makeItem(new ItemDto(0, "item" + i, "description", true, null), user, null))
+                .collect(Collectors.toList());
+        StatementCounter statements = startStatementCount(entityManager);
+
+        itemStorage.saveAll(items);
+        entityManager.flush();
+
+        assertThat(statements.getEntityInsertCount(), equalTo(120L));
+        assertThat(statements.getStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void addItemsResolvesRequestsOnceAndReportsUnknownOnes() {
+        UserDto owner = userService.addUser(new UserDto(0, "owner", "email.yandex.ru"));
+        UserDto requestor = userService.addUser(new UserDto(0, "requestor", "anotherEmail.yandex.ru"));
+        long requestId = requestItemService.addRequest(requestor.getId(),
+                new RequestItemRequestDto("Нужна дрель")).getId();
+        List<ItemDto> itemDtos = List.of(
+                new ItemDto(0, "Дрель", "Аккумуляторная", true, requestId),
+                new ItemDto(0, "Дрель ударная", "Сетевая", true, requestId + 1),
+                new ItemDto(0, "Шуруповерт", "Работает как дрель", true, requestId));
+        StatementCounter statements = startStatementCount(entityManager);
+
+        List<BatchResult<ItemDto>> results = itemService.addItems(owner.getId(), itemDtos);
+        entityManager.flush();
+
+        assertThat(results.get(0).getResult().getRequestId(), equalTo(requestId));
+        assertThat(results.get(1).getResult(), equalTo(null));
+        assertThat(results.get(1).getError(), equalTo(WRONG_REQUEST_ID));
+        assertThat(results.get(2).getResult().getName(), equalTo("Шуруповерт"));
+        assertThat(statements.getEntityInsertCount(), equalTo(2L));
+        assertThat(statements.getStatementCount(), equalTo(3L));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void addItemsFromMalformedStreamRollsBackEarlierChunks() {
+        UserDto owner = userService.addUser(new UserDto(0, "owner", "email.yandex.ru"));
+        String items = IntStream.range(0, 60)
+                .mapToObj(i -> "{\"name\":\"item" + i + "\",\"description\":\"description\",\"available\":true}\n")
+                .collect(Collectors.joining()) + "{\"name\":";
+
+        assertThrows(InvalidBatchException.class, () -> batchReader.readInChunks(
+                new ByteArrayInputStream(items.getBytes(StandardCharsets.UTF_8)), ItemDto.class, 100,
+                chunk -> itemService.addItems(owner.getId(), chunk)));
+
+        assertThat(itemStorage.findItemDtosByOwnerId(owner.getId(), PageRequest.of(0, 100)), empty());
+        userService.deleteUser(owner.getId());
+    }
+
+    private void addBookings(long itemId, long bookerId, int from, int to) {
+        for (int i = from; i < to; i++) {
+            bookingService.createBooking(new BookingRequestDto(0, itemId, secondStart.plusDays(2L * i),
+                    secondEnd.plusDays(2L * i)), bookerId);
+        }
+    }
 
     private void createEnvironmentTest() throws InterruptedException {
         firstUserDto = new UserDto(0, "name", "email.yandex.ru");
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.suggest.ItemNameTrie;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+class ItemNameTrieTest {
+
+    private ItemNameTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new ItemNameTrie();
+        trie.add(1L, "Дрель");
+        trie.add(2L, "Дрель");
+        trie.add(3L, "Дрель ударная");
+        trie.add(4L, "Дрель ударная");
+        trie.add(5L, "Дрель ударная");
+        trie.add(6L, "Дрезина");
+        trie.add(7L, "Отвертка");
+    }
+
+    @Test
+    void suggestReturnsMostFrequentCompletionsFirst() {
+        assertThat(trie.suggest("др", 10), contains("Дрель ударная", "Дрель", "Дрезина"));
+        assertThat(trie.suggest("ДРЕЛ", 1), contains("Дрель ударная"));
+        assertThat(trie.suggest("дрель у", 10), contains("Дрель ударная"));
+    }
+
+    @Test
+    void suggestReturnsNothingForUnknownPrefix() {
+        assertThat(trie.suggest("дрелька", 10), empty());
+        assertThat(trie.suggest("пила", 10), empty());
+    }
+
+    @Test
+    void removeDecrementsAndDropsNames() {
+        trie.remove(3L, "Дрель ударная");
+        trie.remove(4L, "Дрель ударная");
+        assertThat(trie.suggest("дрел", 10), contains("Дрель", "Дрель ударная"));
+
+        trie.remove(5L, "Дрель ударная");
+        trie.remove(6L, "Дрезина");
+        assertThat(trie.suggest("др", 10), contains("Дрель"));
+
+        trie.remove(1L, "Дрель");
+        trie.remove(2L, "Дрель");
+        trie.remove(2L, "Дрель");
+        assertThat(trie.suggest("д", 10), empty());
+        assertThat(trie.suggest("о", 10), contains("Отвертка"));
+    }
+
+    @Test
+    void removingOneCasingKeepsTheOtherItemsDisplayName() {
+        trie.add(8L, "ДРЕЗИНА");
+        assertThat(trie.suggest("дрез", 10), contains("Дрезина"));
+
+        trie.remove(6L, "Дрезина");
+        assertThat(trie.suggest("дрез", 10), contains("ДРЕЗИНА"));
+
+        trie.add(6L, "Дрезина");
+        trie.remove(8L, "ДРЕЗИНА");
+        assertThat(trie.suggest("дрез", 10), contains("Дрезина"));
+    }
+}
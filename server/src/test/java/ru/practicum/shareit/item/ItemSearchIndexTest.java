@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.IndexedItem;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.rebuild(List.of(
+                new IndexedItem(1, 1, "Дрель", "Аккумуляторная", true, null),
+                new IndexedItem(2, 1, "Дрель ударная", "Сломана", false, null),
+                new IndexedItem(3, 2, "Шуруповерт", "Работает как дрель", true, 7L),
+                new IndexedItem(4, 2, "Отвертка", "Крестовая", true, null)));
+    }
+
+    @Test
+    void searchMatchesSubstringIgnoringCaseAndAvailability() {
+        assertThat(ids(index.search("дРЕЛ", 0, 10)), contains(1L, 3L));
+        assertThat(ids(index.search("ер", 0, 10)), contains(3L, 4L));
+        assertThat(ids(index.search("тележка", 0, 10)), empty());
+    }
+
+    @Test
+    void searchSkipsTrigramFalsePositives() {
+        index.put(new IndexedItem(5, 2, "абвг", "вгаб", true, null));
+
+        assertThat(ids(index.search("абвгаб", 0, 10)), empty());
+    }
+
+    @Test
+    void searchPagesByOffsetAndLimit() {
+        index.put(new IndexedItem(5, 2, "Дрель", "Новая", true, null));
+
+        assertThat(ids(index.search("дрель", 1, 1)), contains(3L));
+        assertThat(ids(index.search("дрель", 1, 10)), contains(3L, 5L));
+    }
+
+    @Test
+    void indexAcceptsIdsBeyondIntRange() {
+        long largeId = Integer.MAX_VALUE + 10L;
+        index.put(new IndexedItem(largeId, 2, "Дрель", "Новая", true, null));
+        index.put(new IndexedItem(largeId + 1, 2, "Дрель", "Сломана", false, null));
+
+        assertThat(ids(index.search("дрель", 0, 10)), contains(1L, 3L, largeId));
+        assertThat(ids(index.search("др", 2, 10)), contains(largeId));
+
+        index.remove(largeId);
+        assertThat(ids(index.search("дрель", 0, 10)), contains(1L, 3L));
+    }
+
+    @Test
+    void putReplacesIndexedText() {
+        index.put(new IndexedItem(1, 1, "Лестница", "Стремянка", true, null));
+
+        assertThat(ids(index.search("дрель", 0, 10)), contains(3L));
+        assertThat(ids(index.search("лестн", 0, 10)), contains(1L));
+    }
+
+    @Test
+    void putUpdatesAvailability() {
+        index.put(new IndexedItem(2, 1, "Дрель ударная", "Починена", true, null));
+
+        assertThat(ids(index.search("дрель", 0, 10)), contains(1L, 2L, 3L));
+    }
+
+    @Test
+    void removeAndRemoveOwnerDropItems() {
+        index.remove(1);
+        assertThat(ids(index.search("дрель", 0, 10)), contains(3L));
+
+        index.removeOwner(2);
+        assertThat(ids(index.search("дрель", 0, 10)), empty());
+        assertThat(index.size(), equalTo(1));
+    }
+
+    private List<Long> ids(List<IndexedItem> items) {
+        return items.stream().map(IndexedItem::getId).collect(Collectors.toList());
+    }
+}
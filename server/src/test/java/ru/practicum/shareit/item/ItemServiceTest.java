@@ -6,11 +6,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.booking.summary.ItemBookingSummary;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.item.comment.Comment;
@@ -18,14 +20,18 @@ import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.CommentStorage;
 import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.item.suggest.ItemNameSuggester;
 import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.request.storage.RequestItemStorage;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.registry.UserRegistry;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -36,7 +42,10 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_USER_ID;
 
 @ExtendWith(MockitoExtension.class)
 class ItemServiceTest {
@@ -46,11 +55,19 @@ class ItemServiceTest {
     @Mock
     private ItemStorage itemStorage;
     @Mock
-    private UserStorage userStorage;
+    private UserRegistry userRegistry;
     @Mock
     private RequestItemStorage requestItemStorage;
     @Mock
     private CommentStorage commentStorage;
+    @Mock
+    private ItemSearch itemSearch;
+    @Mock
+    private ItemBookingSummaryService summaryService;
+    @Mock
+    private ItemNameSuggester itemNameSuggester;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private ItemServiceImpl service;
 
@@ -63,8 +80,6 @@ class ItemServiceTest {
 
     private User user;
     private User anotherUser;
-    private Booking lastBooking;
-    private Booking nextBooking;
     private ItemDto itemDtoNoRequest;
     private ItemDto itemDtoWithRequest;
     private Item itemNoRequest;
@@ -87,8 +102,6 @@ class ItemServiceTest {
         itemNoRequest = new Item(11L, "firstDtoName", "firstDtoDescription", true, user, null);
         itemWithRequest = new Item(22L, "secondDtoName", "secondDtoDescription", true, anotherUser, requestItem);
         comment = new Comment(11L, "text", itemNoRequest, user, created);
-        lastBooking = new Booking(11L, start, end, itemWithRequest, user, BookingStatus.WAITING);
-        nextBooking = new Booking(22L, start.plusDays(5), end.plusDays(5), itemWithRequest, user, BookingStatus.WAITING);
         commentRequestDto = new CommentRequestDto("text");
         commentResponseDto = new CommentResponseDto(11L, "text", user.getName(), created);
         lastShortBooking = new BookingShortDto(11L, 11L);
@@ -98,7 +111,7 @@ class ItemServiceTest {
 
     @Test
     void createItemAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
         when(itemStorage.save(any())).thenReturn(itemNoRequest);
 
         ItemDto itemDto = service.addItem(user.getId(), itemDtoNoRequest);
@@ -107,18 +120,19 @@ class ItemServiceTest {
         assertThat(itemDto.getName(), equalTo(itemNoRequest.getName()));
         assertThat(itemDto.getDescription(), equalTo(itemNoRequest.getDescription()));
         assertThat(itemDto.getAvailable(), equalTo(itemNoRequest.isAvailable()));
+        verify(eventPublisher).publishEvent(any(ItemSavedEvent.class));
     }
 
     @Test
     void createItemWithNoUserExistThenThrowsEntityNotFound() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRegistry.getUser(anyLong())).thenThrow(new EntityNotFoundException(WRONG_USER_ID));
 
         assertThrows(EntityNotFoundException.class, () -> service.addItem(user.getId(), itemDtoNoRequest));
     }
 
     @Test
     void createItemForRequestAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
         when(itemStorage.save(any())).thenReturn(itemWithRequest);
         when(requestItemStorage.findById(anyLong())).thenReturn(Optional.of(requestItem));
 
@@ -134,7 +148,7 @@ class ItemServiceTest {
     @Test
     void createItemWithWrongRequestId() {
         itemDtoWithRequest.setRequestId(14L);
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
         when(requestItemStorage.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.addItem(user.getId(), itemDtoWithRequest));
@@ -142,7 +156,7 @@ class ItemServiceTest {
 
     @Test
     void updateItemAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
         when(itemStorage.findById(anyLong())).thenReturn(Optional.of(itemNoRequest));
         when(itemStorage.save(any())).thenReturn(itemNoRequest);
 
@@ -156,7 +170,7 @@ class ItemServiceTest {
 
     @Test
     void updateItemWithWrongUserId() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(anotherUser));
+        when(userRegistry.getUser(anyLong())).thenReturn(anotherUser);
         when(itemStorage.findById(anyLong())).thenReturn(Optional.of(itemNoRequest));
 
         assertThrows(EntityNotFoundException.class,
@@ -165,10 +179,10 @@ class ItemServiceTest {
 
     @Test
     void findItemByIdAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(anotherUser));
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(itemWithRequest));
-        when(commentStorage.findCommentsByItemId(anyLong(), any())).thenReturn(List.of(comment));
-        when(bookingStorage.findBookingsByItemIdAndStatusNot(anyLong(), any(), any())).thenReturn(List.of(lastBooking, nextBooking));
+        when(itemStorage.findIndexedById(anyLong())).thenReturn(Optional.of(ItemMapper.makeIndexedItem(itemWithRequest)));
+        when(commentStorage.findCommentDtosByItemId(anyLong(), any())).thenReturn(List.of(commentResponseDto));
+        when(summaryService.getSummary(anyLong())).thenReturn(new ItemBookingSummary(itemWithRequest.getId(),
+                11L, 11L, 22L, 11L, start.plusDays(5)));
 
         ItemResponseDto itemDto = service.getItemDto(anotherUser.getId(), itemDtoWithRequest.getId());
 
@@ -177,14 +191,14 @@ class ItemServiceTest {
         assertThat(itemDto.getDescription(), equalTo(itemWithRequest.getDescription()));
         assertThat(itemDto.getAvailable(), equalTo(itemWithRequest.isAvailable()));
         assertThat(itemDto.getComments().get(0), equalTo(commentResponseDto));
-        assertThat(itemDto.getNextBooking().getId(), equalTo(itemResponseDtoWithBooking.getNextBooking().getId()));
+        assertThat(itemDto.getLastBooking(), equalTo(itemResponseDtoWithBooking.getLastBooking()));
+        assertThat(itemDto.getNextBooking(), equalTo(itemResponseDtoWithBooking.getNextBooking()));
     }
 
     @Test
     void findItemByIdForNotOwner() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(itemWithRequest));
-        when(commentStorage.findCommentsByItemId(anyLong(), any())).thenReturn(List.of(comment));
+        when(itemStorage.findIndexedById(anyLong())).thenReturn(Optional.of(ItemMapper.makeIndexedItem(itemWithRequest)));
+        when(commentStorage.findCommentDtosByItemId(anyLong(), any())).thenReturn(List.of(commentResponseDto));
 
         ItemResponseDto itemDto = service.getItemDto(anotherUser.getId(), itemDtoWithRequest.getId());
 
@@ -199,8 +213,7 @@ class ItemServiceTest {
 
     @Test
     void findItemByWrongId() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(anotherUser));
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemStorage.findIndexedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> service.getItemDto(anotherUser.getId(), 33L));
@@ -208,8 +221,7 @@ class ItemServiceTest {
 
     @Test
     void findAllOwnerItemsAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemStorage.findByOwnerIdOrderById(anyLong(), any(PageRequest.class))).thenReturn(List.of(itemNoRequest));
+        when(itemStorage.findItemDtosByOwnerId(anyLong(), any(PageRequest.class))).thenReturn(List.of(itemDtoNoRequest));
 
         List<ItemResponseDto> itemDtoList = service.getAllOwnersItems(user.getId(), 0, 1);
 
@@ -222,14 +234,13 @@ class ItemServiceTest {
 
     @Test
     void findAllOwnerItemsForWrongUserId() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new EntityNotFoundException(WRONG_USER_ID)).when(userRegistry).checkExists(anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> service.getAllOwnersItems(user.getId(), 0, 1));
     }
 
     @Test
     void deleteItemWithWrongOwnerId() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemStorage.findById(anyLong())).thenReturn(Optional.of(itemWithRequest));
 
         assertThrows(EntityNotFoundException.class,
@@ -238,7 +249,7 @@ class ItemServiceTest {
 
     @Test
     void searchItemsAndThenOk() {
-        when(itemStorage.searchItem(anyString(), any(PageRequest.class))).thenReturn(List.of(itemNoRequest));
+        when(itemSearch.search(anyString(), any(Pageable.class))).thenReturn(List.of(itemDtoNoRequest));
 
         List<ItemDto> itemDtoList = service.searchItems("text", 0, 1);
 
@@ -256,9 +267,21 @@ class ItemServiceTest {
         assertThat(itemDtoList.size(), equalTo(0));
     }
 
+    @Test
+    void suggestItemNamesAndThenOk() {
+        when(itemNameSuggester.suggest("sh", 5)).thenReturn(List.of("SHOVEL"));
+
+        assertThat(service.suggestItemNames("sh", 5), equalTo(List.of("SHOVEL")));
+    }
+
+    @Test
+    void suggestItemNamesWithBlankPrefix() {
+        assertThat(service.suggestItemNames(" ", 5).size(), equalTo(0));
+    }
+
     @Test
     void addCommentAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
         when(itemStorage.findById(anyLong())).thenReturn(Optional.of(itemWithRequest));
         when(bookingStorage.existsByItemIdAndEndBeforeAndBookerIdIs(anyLong(), any(LocalDateTime.class), anyLong()))
                 .thenReturn(true);
@@ -274,7 +297,7 @@ class ItemServiceTest {
 
     @Test
     void addCommentWithoutBooking() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
         when(itemStorage.findById(anyLong())).thenReturn(Optional.of(itemWithRequest));
         when(bookingStorage.existsByItemIdAndEndBeforeAndBookerIdIs(anyLong(), any(LocalDateTime.class), anyLong()))
                 .thenReturn(false);
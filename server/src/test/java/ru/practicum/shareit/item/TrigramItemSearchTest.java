@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.TrigramItemSearch;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
+import ru.practicum.shareit.request.service.RequestItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+
+@Transactional
+@SpringBootTest(properties = {"db.name=test", "shareit.search.engine=trigram"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class TrigramItemSearchTest {
+
+    private final ItemSearch itemSearch;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final RequestItemService requestItemService;
+    private final EntityManager entityManager;
+
+    @BeforeEach
+    void createSimilarityFunction() {
+        entityManager.createNativeQuery("create alias if not exists similarity for \""
+                + Trigrams.class.getName() + ".similarity\"").executeUpdate();
+    }
+
+    @Test
+    void searchMapsRowsToItemDtosOrderedBySimilarity() {
+        UserDto owner = userService.addUser(new UserDto(0, "owner", "trigramItemOwner@yandex.ru"));
+        UserDto requestor = userService.addUser(new UserDto(0, "requestor", "trigramRequestor@yandex.ru"));
+        long requestId = requestItemService.addRequest(requestor.getId(),
+                new RequestItemRequestDto("Нужна дрель")).getId();
+        ItemDto screwdriver = itemService.addItem(owner.getId(),
+                new ItemDto(0, "Шуруповерт", "Работает как дрель", true, null));
+        ItemDto drill = itemService.addItem(owner.getId(),
+                new ItemDto(0, "Дрель", "Аккумуляторная", true, requestId));
+        itemService.addItem(owner.getId(), new ItemDto(0, "Дрель ударная", "Сетевая", false, null));
+
+        List<ItemDto> found = itemSearch.search("дрель", PageRequest.of(0, 10));
+
+        assertThat(itemSearch, instanceOf(TrigramItemSearch.class));
+        assertThat(found, contains(drill, screwdriver));
+    }
+
+    public static class Trigrams {
+
+        public static float similarity(String value, String text) {
+            Set<String> valueTrigrams = trigrams(value);
+            Set<String> common = new HashSet<>(valueTrigrams);
+            Set<String> textTrigrams = trigrams(text);
+            common.retainAll(textTrigrams);
+            valueTrigrams.addAll(textTrigrams);
+            return valueTrigrams.isEmpty() ? 0 : (float) common.size() / valueTrigrams.size();
+        }
+
+        private static Set<String> trigrams(String value) {
+            String padded = "  " + value.toLowerCase() + " ";
+            Set<String> trigrams = new HashSet<>();
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+            return trigrams;
+        }
+    }
+}
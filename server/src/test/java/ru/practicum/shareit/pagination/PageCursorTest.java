@@ -0,0 +1,36 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    private final LocalDateTime created = LocalDateTime.of(2050, 8, 29, 0, 0, 15, 123_456_789);
+
+    @Test
+    void timestampIsTruncatedToStoredMicroseconds() {
+        PageCursor cursor = PageCursor.of(created, 7L);
+
+        assertThat(cursor.getTimestamp(), equalTo(LocalDateTime.of(2050, 8, 29, 0, 0, 15, 123_456_000)));
+    }
+
+    @Test
+    void decodeRestoresEncodedCursor() {
+        PageCursor cursor = PageCursor.of(created, 7L);
+
+        assertThat(PageCursor.decode(cursor.encode()), equalTo(cursor));
+        assertThat(PageCursor.decode(PageCursor.of(7L).encode()), equalTo(PageCursor.of(7L)));
+    }
+
+    @Test
+    void decodeRejectsMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.of(7L).getRequiredTimestamp());
+    }
+}
@@ -5,8 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.StatementCounter;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemResponseDto;
 import ru.practicum.shareit.request.dto.RequestItemShortResponseDto;
@@ -14,10 +16,12 @@ import ru.practicum.shareit.request.service.RequestItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static ru.practicum.shareit.StatementCounter.startStatementCount;
 
 @Transactional
 @SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -27,6 +31,7 @@ class RequestItemIntegrationTest {
     private final UserService userService;
     private final ItemService itemService;
     private final RequestItemService requestItemService;
+    private final EntityManager entityManager;
 
     private UserDto firstUserDto;
     private UserDto secondUserDto;
@@ -58,6 +63,82 @@ class RequestItemIntegrationTest {
         assertThat(responseList.get(3).getItems().get(0).getDescription(), equalTo(firstItemResponse.getDescription()));
     }
 
+    @Test
+    void getAllUsersRequestsByCursorAndThenPagesMatchOffsetPages() {
+        createEnvironmentTest();
+
+        List<RequestItemResponseDto> firstPage = requestItemService.getAllUserRequests(secondUserResponse.getId(), 0, 2);
+        RequestItemResponseDto last = firstPage.get(1);
+        List<RequestItemResponseDto> secondPage = requestItemService.getAllUserRequests(secondUserResponse.getId(),
+                PageCursor.of(last.getCreated(), last.getId()), 2);
+
+        assertThat(secondPage, equalTo(requestItemService.getAllUserRequests(secondUserResponse.getId(), 2, 2)));
+        assertThat(secondPage.get(1).getDescription(), equalTo(firstRequestResponse.getDescription()));
+    }
+
+    @Test
+    void getAllUsersRequestsWithOffsetNotMultipleOfSizeAndThenOk() {
+        createEnvironmentTest();
+
+        List<RequestItemResponseDto> responseList = requestItemService.getAllUserRequests(secondUserResponse.getId(), 1, 2);
+
+        assertThat(responseList.size(), equalTo(2));
+        assertThat(responseList.get(0).getDescription(), equalTo(thirdRequestResponse.getDescription()));
+        assertThat(responseList.get(1).getDescription(), equalTo(secondRequestResponse.getDescription()));
+    }
+
+    @Test
+    void getMyRequestsStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        requestItemService.getMyRequests(firstUserResponse.getId());
+
+        assertThat(statements.getStatementCount(), equalTo(3L));
+    }
+
+    @Test
+    void getAllUsersRequestsStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        requestItemService.getAllUserRequests(secondUserResponse.getId(), 0, 4);
+
+        assertThat(statements.getStatementCount(), equalTo(4L));
+    }
+
+    @Test
+    void getRequestStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        requestItemService.getRequestItemResponseDto(secondUserResponse.getId(), firstRequestResponse.getId());
+
+        assertThat(statements.getStatementCount(), equalTo(3L));
+    }
+
+    @Test
+    void getAllUsersRequestsAfterCursorStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        requestItemService.getAllUserRequests(secondUserResponse.getId(),
+                PageCursor.of(fourthRequestResponse.getCreated(), fourthRequestResponse.getId()), 4);
+
+        assertThat(statements.getStatementCount(), equalTo(3L));
+    }
+
+    @Test
+    void addRequestStatementCount() {
+        createEnvironmentTest();
+        StatementCounter statements = startStatementCount(entityManager);
+
+        requestItemService.addRequest(secondUserResponse.getId(), new RequestItemRequestDto("Try to find hammer"));
+        entityManager.flush();
+
+        assertThat(statements.getStatementCount(), equalTo(2L));
+    }
+
     private void createEnvironmentTest() {
         firstUserDto = new UserDto(0, "name", "email.yandex.ru");
         secondUserDto = new UserDto(0, "name", "anotherEmail.yandex.ru");
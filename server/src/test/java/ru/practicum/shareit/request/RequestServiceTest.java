@@ -19,7 +19,7 @@ import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.request.service.RequestItemServiceImpl;
 import ru.practicum.shareit.request.storage.RequestItemStorage;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.registry.UserRegistry;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,7 +29,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.constants.error.ErrorConstants.WRONG_USER_ID;
 
 @ExtendWith(MockitoExtension.class)
 class RequestServiceTest {
@@ -37,7 +39,7 @@ class RequestServiceTest {
     @Mock
     private ItemStorage itemStorage;
     @Mock
-    private UserStorage userStorage;
+    private UserRegistry userRegistry;
     @Mock
     private RequestItemStorage requestItemStorage;
     @InjectMocks
@@ -69,7 +71,7 @@ class RequestServiceTest {
 
     @Test
     void addRequestAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRegistry.getUser(anyLong())).thenReturn(user);
         when(requestItemStorage.save(any())).thenReturn(requestItem);
 
         RequestItemShortResponseDto dto = service.addRequest(user.getId(), requestDto);
@@ -81,57 +83,54 @@ class RequestServiceTest {
 
     @Test
     void addRequestForWrongUser() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRegistry.getUser(anyLong())).thenThrow(new EntityNotFoundException(WRONG_USER_ID));
 
         assertThrows(EntityNotFoundException.class, () -> service.addRequest(user.getId(), requestDto));
     }
 
     @Test
     void getOwnerRequestAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(requestItemStorage.findByRequestorIdOrderByCreatedDesc(user.getId())).thenReturn(List.of(requestItem));
-        when(itemStorage.findByRequestItemInOrderById(List.of(requestItem))).thenReturn(List.of(item));
+        when(itemStorage.findItemsForRequests(List.of(requestItem.getId()))).thenReturn(List.of(itemForRequestDto));
 
         List<RequestItemResponseDto> list = service.getMyRequests(user.getId());
 
         assertThat(list.size(), equalTo(1));
         assertThat(list.get(0).getDescription(), equalTo(responseDto.getDescription()));
         assertThat(list.get(0).getCreated(), equalTo(responseDto.getCreated()));
-        assertThat(list.get(0).getItems().get(0).getName(), equalTo(item.getName()));
+        assertThat(list.get(0).getItems().get(0).getName(), equalTo(itemForRequestDto.getName()));
     }
 
     @Test
     void getOwnerRequestForWrongUser() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new EntityNotFoundException(WRONG_USER_ID)).when(userRegistry).checkExists(anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> service.getMyRequests(user.getId()));
     }
 
     @Test
     void getAllUserRequestAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(requestItemStorage.findByRequestorIdNotOrderByCreatedDesc(anyLong(), any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of(requestItem)));
-        when(itemStorage.findByRequestItemInOrderById(List.of(requestItem))).thenReturn(List.of(item));
+        when(itemStorage.findItemsForRequests(List.of(requestItem.getId()))).thenReturn(List.of(itemForRequestDto));
 
         List<RequestItemResponseDto> list = service.getAllUserRequests(anotherUser.getId(), 0, 1);
 
         assertThat(list.size(), equalTo(1));
         assertThat(list.get(0).getDescription(), equalTo(responseDto.getDescription()));
         assertThat(list.get(0).getCreated(), equalTo(responseDto.getCreated()));
-        assertThat(list.get(0).getItems().get(0).getName(), equalTo(item.getName()));
+        assertThat(list.get(0).getItems().get(0).getName(), equalTo(itemForRequestDto.getName()));
     }
 
     @Test
     void getRequestByIdAndThenOk() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(requestItemStorage.findById(anyLong())).thenReturn(Optional.of(requestItem));
-        when(itemStorage.findByRequestItemInOrderById(List.of(requestItem))).thenReturn(List.of(item));
+        when(itemStorage.findItemsForRequests(List.of(requestItem.getId()))).thenReturn(List.of(itemForRequestDto));
 
         RequestItemResponseDto dto = service.getRequestItemResponseDto(user.getId(), requestItem.getId());
 
         assertThat(dto.getDescription(), equalTo(responseDto.getDescription()));
         assertThat(dto.getCreated(), equalTo(responseDto.getCreated()));
-        assertThat(dto.getItems().get(0).getName(), equalTo(item.getName()));
+        assertThat(dto.getItems().get(0).getName(), equalTo(itemForRequestDto.getName()));
     }
 }
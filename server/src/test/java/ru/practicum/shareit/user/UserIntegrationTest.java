@@ -5,11 +5,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.request.service.RequestItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -17,6 +20,7 @@ import static org.hamcrest.Matchers.equalTo;
 class UserIntegrationTest {
 
     private final UserService userService;
+    private final RequestItemService requestItemService;
 
     private UserDto firstUserDto;
     private UserDto firstUserResponse;
@@ -44,6 +48,17 @@ class UserIntegrationTest {
         assertThat(dto.getEmail(), equalTo(firstUserResponse.getEmail()));
     }
 
+    @Test
+    void readAfterUserDeletionThrowsEntityNotFound() {
+        createEnvironmentTest();
+        assertThat(requestItemService.getMyRequests(firstUserResponse.getId()).size(), equalTo(0));
+
+        userService.deleteUser(firstUserResponse.getId());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> requestItemService.getMyRequests(firstUserResponse.getId()));
+    }
+
     private void createEnvironmentTest() {
         firstUserDto = new UserDto(0, "name", "email.yandex.ru");
         firstUserResponse = userService.addUser(firstUserDto);
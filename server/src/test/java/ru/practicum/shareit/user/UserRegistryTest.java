@@ -0,0 +1,77 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserRegistry;
+import ru.practicum.shareit.user.registry.UserRegistryProperties;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserRegistryTest {
+
+    @Mock
+    private UserStorage userStorage;
+
+    private UserRegistry registry;
+
+    @BeforeEach
+    void createRegistry() {
+        registry = new UserRegistry(userStorage, new UserRegistryProperties());
+    }
+
+    @Test
+    void repeatedExistenceCheckSkipsDatabase() {
+        when(userStorage.existsById(1L)).thenReturn(true);
+
+        registry.checkExists(1L);
+        registry.checkExists(1L);
+        registry.checkExists(1L);
+
+        verify(userStorage, times(1)).existsById(1L);
+    }
+
+    @Test
+    void missingUserIsCheckedInDatabaseEveryTime() {
+        when(userStorage.existsById(3L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> registry.checkExists(3L));
+        assertThrows(EntityNotFoundException.class, () -> registry.checkExists(3L));
+
+        verify(userStorage, times(2)).existsById(3L);
+    }
+
+    @Test
+    void deletedUserIsCheckedInDatabaseAgain() {
+        when(userStorage.existsById(1L)).thenReturn(true, false);
+        registry.checkExists(1L);
+
+        registry.onUserDeleted(new UserDeletedEvent(1L));
+
+        assertThrows(EntityNotFoundException.class, () -> registry.checkExists(1L));
+    }
+
+    @Test
+    void getUserReturnsLoadedUserOrThrowsEntityNotFound() {
+        User user = new User(1L, "name", "email@yandex.ru");
+        when(userStorage.findById(1L)).thenReturn(Optional.of(user));
+        when(userStorage.findById(3L)).thenReturn(Optional.empty());
+
+        assertThat(registry.getUser(1L), sameInstance(user));
+        assertThrows(EntityNotFoundException.class, () -> registry.getUser(3L));
+    }
+}